@@ -0,0 +1,119 @@
+package ru.practicum.shareit.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Сборка списка предметов владельца с комментариями и бронированиями в ItemServiceImpl.
+ * Репозитории заменены заглушками, поэтому измеряется только работа в памяти: маппинг, группировка и склейка.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemEnrichmentBenchmark {
+
+    private static final Long OWNER_ID = 1L;
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<User> users = SyntheticData.users(10);
+        List<Item> ownerItems = SyntheticData.items(items, List.of(users.get(0)), Collections.emptyList());
+        List<Comment> comments = SyntheticData.comments(ownerItems, commentsPerItem, users);
+        Map<Long, List<CommentForItemView>> commentsByItem = SyntheticData.recentComments(comments, commentsPerItem)
+                .stream()
+                .collect(groupingBy(CommentForItemView::getItemId));
+        Map<Long, List<BookingForItemView>> bookingsByItem = SyntheticData.lastAndNextBookings(ownerItems).stream()
+                .collect(groupingBy(BookingForItemView::getItemId));
+
+        ItemRepository itemRepository = RepositoryStubs.stub(ItemRepository.class, Map.of(
+                "findAllByOwner_IdOrderByIdAsc", args -> ownerItems,
+                "findById", args -> Optional.of(ownerItems.get(0)),
+                "findAllByIdGreaterThanOrderByIdAsc", args -> Collections.emptyList()));
+        CommentRepository commentRepository = RepositoryStubs.stub(CommentRepository.class, Map.of(
+                "findRecentComments", args -> commentsFor((List<Long>) args[0], commentsByItem)));
+        BookingRepository bookingRepository = RepositoryStubs.stub(BookingRepository.class, Map.of(
+                "findLastAndNextBookings", args -> bookingsFor((List<Long>) args[0], bookingsByItem)));
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of(
+                "existsById", args -> true));
+        ItemRequestRepository itemRequestRepository = RepositoryStubs.stub(ItemRequestRepository.class, Map.of());
+
+        UserIdentityCache userIdentityCache = new UserIdentityCache(userRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10));
+        itemService = new ItemServiceImpl(itemRepository, userIdentityCache, bookingRepository, commentRepository,
+                itemRequestRepository, new ItemSearchIndex(itemRepository));
+    }
+
+    private static List<CommentForItemView> commentsFor(List<Long> itemIds,
+                                                        Map<Long, List<CommentForItemView>> commentsByItem) {
+        List<CommentForItemView> result = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            result.addAll(commentsByItem.getOrDefault(itemId, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    private static List<BookingForItemView> bookingsFor(List<Long> itemIds,
+                                                        Map<Long, List<BookingForItemView>> bookingsByItem) {
+        List<BookingForItemView> result = new ArrayList<>(itemIds.size() * 2);
+        for (Long itemId : itemIds) {
+            result.addAll(bookingsByItem.getOrDefault(itemId, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> findUserAllItems() {
+        return itemService.findUserAllItems(OWNER_ID, 0, items);
+    }
+
+    @Benchmark
+    public ItemDto findItemByIdAsOwner() {
+        return itemService.findItemById(OWNER_ID, 1L);
+    }
+}
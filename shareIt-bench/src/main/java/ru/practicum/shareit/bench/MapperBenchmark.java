@@ -0,0 +1,99 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Преобразование списков сущностей в DTO статическими мапперами, как это делают сервисы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<Item> items;
+
+    private List<Comment> comments;
+
+    private List<Booking> bookings;
+
+    private List<BookingForItemView> bookingViews;
+
+    private List<ItemRequest> requests;
+
+    @Setup
+    public void setUp() {
+        List<User> users = SyntheticData.users(10);
+        requests = SyntheticData.requests(size, users.get(0));
+        items = SyntheticData.items(size, users, requests);
+        comments = SyntheticData.comments(items, 1, users);
+        bookings = SyntheticData.bookings(items, 1, users);
+        bookingViews = SyntheticData.lastAndNextBookings(items);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToItemDto() {
+        return items.stream().map(ItemMapper::toItemDto).collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemForRequestDto> itemToItemForRequestDto() {
+        return items.stream().map(ItemMapper::toItemForRequestDto).collect(toList());
+    }
+
+    @Benchmark
+    public List<CommentDto> commentToCommentDto() {
+        return comments.stream().map(CommentMapper::toCommentDto).collect(toList());
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToBookingDto() {
+        return bookings.stream().map(BookingMapper::toBookingDto).collect(toList());
+    }
+
+    @Benchmark
+    public List<BookingForItemDto> bookingViewToBookingForItemDto() {
+        return bookingViews.stream().map(BookingMapper::toBookingForItemDto).collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> requestToItemRequestDto() {
+        return requests.stream().map(RequestMapper::toItemRequestDto).collect(toList());
+    }
+}
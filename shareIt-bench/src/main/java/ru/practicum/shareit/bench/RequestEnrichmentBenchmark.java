@@ -0,0 +1,114 @@
+package ru.practicum.shareit.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Сборка списка запросов пользователя и ленты чужих запросов с предметами-ответами в ItemRequestServiceImpl
+ * на заглушках репозиториев. Предметы приходят из заглушки готовыми DTO, как их отдает проекция репозитория.
+ * groupEntitiesByRequest повторяет прежнюю сборку из сущностей Item с группировкой по упакованному id запроса
+ * и нужен для сравнения gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestEnrichmentBenchmark {
+
+    private static final Long REQUESTOR_ID = 1L;
+
+    @Param({"10", "100", "500", "1000"})
+    private int requests;
+
+    @Param({"3"})
+    private int itemsPerRequest;
+
+    private ItemRequestServiceImpl itemRequestService;
+
+    private List<ItemRequest> userRequests;
+
+    private List<Item> answers;
+
+    @Setup
+    public void setUp() {
+        List<User> users = SyntheticData.users(10);
+        User requestor = users.get(0);
+        userRequests = SyntheticData.requests(requests, requestor);
+        answers = SyntheticData.items(requests * itemsPerRequest, users.subList(1, users.size()), userRequests);
+        List<ItemForRequestDto> answerDtos = answers.stream().map(ItemMapper::toItemForRequestDto).collect(toList());
+        Slice<ItemRequest> feed = new SliceImpl<>(userRequests, PageRequest.of(0, requests), true);
+
+        ItemRequestRepository itemRequestRepository = RepositoryStubs.stub(ItemRequestRepository.class, Map.of(
+                "findAllByRequestorOrderByIdAsc", args -> userRequests,
+                "findAllByRequestorIsNotOrderByIdAsc", args -> feed));
+        ItemRepository itemRepository = RepositoryStubs.stub(ItemRepository.class, Map.of(
+                "findItemsForRequests", args -> answerDtos));
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of(
+                "existsById", args -> true,
+                "getReferenceById", args -> requestor));
+
+        UserIdentityCache userIdentityCache = new UserIdentityCache(userRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10));
+        itemRequestService = new ItemRequestServiceImpl(userIdentityCache, itemRequestRepository, itemRepository);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findAllUserRequests() {
+        return itemRequestService.findAllUserRequests(REQUESTOR_ID);
+    }
+
+    @Benchmark
+    public Slice<ItemRequestDto> findAllRequests() {
+        return itemRequestService.findAllRequests(REQUESTOR_ID, 0, requests);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> groupEntitiesByRequest() {
+        List<ItemRequestDto> result = userRequests.stream().map(RequestMapper::toItemRequestDto).collect(toList());
+        Map<Long, List<Item>> itemsByRequests = answers.stream()
+                .collect(groupingBy(item -> item.getRequest().getId(), toList()));
+        for (int i = 0; i < userRequests.size(); i++) {
+            result.get(i).setItems(itemsByRequests.getOrDefault(userRequests.get(i).getId(), Collections.emptyList())
+                    .stream()
+                    .map(ItemMapper::toItemForRequestDto)
+                    .collect(toList()));
+        }
+        return result;
+    }
+}
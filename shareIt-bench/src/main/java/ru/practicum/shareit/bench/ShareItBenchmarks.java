@@ -0,0 +1,23 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск всех бенчмарков с профилировщиком gc, чтобы вместе с пропускной способностью
+ * выводилась скорость аллокаций (gc.alloc.rate.norm - байт на операцию).
+ * Аргументы командной строки JMH передаются как есть, например фильтр по имени бенчмарка.
+ */
+public class ShareItBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,213 @@
+package ru.practicum.shareit.bench;
+
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Синтетические графы сущностей, похожие на данные shareIt-server: у предметов есть владелец и запрос,
+ * у комментариев - автор, у бронирований - арендатор и предмет.
+ */
+final class SyntheticData {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 10, 12, 0);
+
+    private SyntheticData() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(new User(id, "User " + id, "user" + id + "@shareit.ru"));
+        }
+        return users;
+    }
+
+    static List<ItemRequest> requests(int count, User requestor) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ItemRequest request = new ItemRequest(id, "Нужна вещь номер " + id, NOW.minusHours(id));
+            request.setRequestor(requestor);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    static List<Item> items(int count, List<User> owners, List<ItemRequest> requests) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ItemRequest request = requests.isEmpty() ? null : requests.get((int) ((id - 1) % requests.size()));
+            items.add(new Item(id, "Предмет " + id, "Описание предмета номер " + id, id % 10 != 0,
+                    owners.get((int) ((id - 1) % owners.size())), request));
+        }
+        return items;
+    }
+
+    static List<Comment> comments(List<Item> items, int perItem, List<User> authors) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (int round = 0; round < perItem; round++) {
+            for (Item item : items) {
+                comments.add(new Comment(id, authors.get((int) (id % authors.size())), item,
+                        "Комментарий " + id, NOW.minusMinutes(items.size() * perItem - id)));
+                id++;
+            }
+        }
+        return comments;
+    }
+
+    static List<Booking> bookings(List<Item> items, int perItem, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                LocalDateTime start = NOW.plusDays(i - perItem / 2);
+                bookings.add(new Booking(id, start, start.plusHours(12), Status.values()[(int) (id % 4)],
+                        bookers.get((int) (id % bookers.size())), item));
+                id++;
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Ответ findLastAndNextBookings: по одному прошлому и одному следующему бронированию на предмет.
+     */
+    static List<BookingForItemView> lastAndNextBookings(List<Item> items) {
+        List<BookingForItemView> views = new ArrayList<>(items.size() * 2);
+        long id = 1;
+        for (Item item : items) {
+            views.add(new View(item.getId(), id++, 2L, NOW.minusDays(2), NOW.minusDays(1), true));
+            views.add(new View(item.getId(), id++, 3L, NOW.plusDays(1), NOW.plusDays(2), false));
+        }
+        return Collections.unmodifiableList(views);
+    }
+
+    /**
+     * То, что вернет CommentRepository.findRecentComments: не больше limit последних комментариев на предмет
+     * и общее число комментариев предмета.
+     */
+    static List<CommentForItemView> recentComments(List<Comment> comments, int limit) {
+        Map<Long, List<Comment>> byItem = comments.stream()
+                .sorted(Comparator.comparing(Comment::getCreated).reversed())
+                .collect(groupingBy(comment -> comment.getItem().getId(), LinkedHashMap::new, toList()));
+        List<CommentForItemView> views = new ArrayList<>();
+        byItem.forEach((itemId, itemComments) -> itemComments.stream()
+                .limit(limit)
+                .forEach(comment -> views.add(new RecentComment(comment, (long) itemComments.size()))));
+        return Collections.unmodifiableList(views);
+    }
+
+    private static final class RecentComment implements CommentForItemView {
+
+        private final Comment comment;
+
+        private final Long total;
+
+        private RecentComment(Comment comment, Long total) {
+            this.comment = comment;
+            this.total = total;
+        }
+
+        @Override
+        public Long getId() {
+            return comment.getId();
+        }
+
+        @Override
+        public Long getItemId() {
+            return comment.getItem().getId();
+        }
+
+        @Override
+        public String getText() {
+            return comment.getText();
+        }
+
+        @Override
+        public String getAuthorName() {
+            return comment.getAuthor().getName();
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return comment.getCreated();
+        }
+
+        @Override
+        public Long getTotal() {
+            return total;
+        }
+    }
+
+    private static final class View implements BookingForItemView {
+
+        private final Long itemId;
+
+        private final Long id;
+
+        private final Long bookerId;
+
+        private final LocalDateTime startTime;
+
+        private final LocalDateTime endTime;
+
+        private final Boolean isLast;
+
+        private View(Long itemId, Long id, Long bookerId, LocalDateTime startTime, LocalDateTime endTime,
+                     Boolean isLast) {
+            this.itemId = itemId;
+            this.id = id;
+            this.bookerId = bookerId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.isLast = isLast;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getBookerId() {
+            return bookerId;
+        }
+
+        @Override
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        @Override
+        public Boolean getIsLast() {
+            return isLast;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.bench.load;
+
+import java.util.Arrays;
+
+/**
+ * Задержки и ошибки одного эндпоинта. Заполняется одним потоком, потоки объединяются после прогона.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+
+    private int count;
+
+    private long errors;
+
+    private long failures;
+
+    void record(long latencyNanos, boolean expected) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!expected) {
+            errors++;
+        }
+    }
+
+    /**
+     * Запрос не получил ответа: ошибка соединения или таймаут.
+     */
+    void recordFailure() {
+        failures++;
+        errors++;
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        failures += other.failures;
+    }
+
+    long getCount() {
+        return count + failures;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Перцентиль задержки в миллисекундах, метод nearest-rank. Сортирует накопленные значения.
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies, 0, count);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return latencies[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
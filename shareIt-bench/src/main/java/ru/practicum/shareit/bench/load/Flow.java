@@ -0,0 +1,27 @@
+package ru.practicum.shareit.bench.load;
+
+import java.util.List;
+
+/**
+ * Последовательность запросов коллекции, выполняемая одним виртуальным пользователем.
+ * Id, созданный POST запросом, подставляется в переменные пути следующих шагов (bookingId, itemId).
+ */
+final class Flow {
+
+    private final int weight;
+
+    private final List<String> steps;
+
+    Flow(int weight, String... steps) {
+        this.weight = weight;
+        this.steps = List.of(steps);
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    List<String> getSteps() {
+        return steps;
+    }
+}
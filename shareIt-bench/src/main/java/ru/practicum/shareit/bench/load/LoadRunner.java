@@ -0,0 +1,172 @@
+package ru.practicum.shareit.bench.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Закрытая модель нагрузки: каждый виртуальный пользователь в своем потоке без пауз выбирает поток запросов
+ * по весам сценариев и выполняет его. Запросы во время прогрева не попадают в статистику.
+ */
+final class LoadRunner {
+
+    /**
+     * Каждая итерация бронирует на свой интервал, чтобы бронирования разных итераций не пересекались.
+     */
+    private static final Duration FIRST_BOOKING_SHIFT = Duration.ofDays(30);
+
+    private static final Duration BOOKING_SHIFT_STEP = Duration.ofDays(3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient;
+
+    private final URI baseUrl;
+
+    private final PostmanCollection collection;
+
+    private final List<Flow> flows = new ArrayList<>();
+
+    private final double[] cumulativeWeights;
+
+    private final AtomicLong iterations = new AtomicLong();
+
+    private final Duration requestTimeout;
+
+    LoadRunner(HttpClient httpClient, URI baseUrl, PostmanCollection collection, Map<Scenario, Integer> mix,
+               Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.collection = collection;
+        this.requestTimeout = requestTimeout;
+        List<Double> weights = new ArrayList<>();
+        mix.forEach((scenario, scenarioWeight) -> {
+            int scenarioTotal = scenario.getFlows().stream().mapToInt(Flow::getWeight).sum();
+            for (Flow flow : scenario.getFlows()) {
+                flow.getSteps().forEach(collection::get);
+                flows.add(flow);
+                weights.add((double) scenarioWeight * flow.getWeight() / scenarioTotal);
+            }
+        });
+        cumulativeWeights = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Последовательно выполняет всю коллекцию, как Postman runner, чтобы в базе появились пользователи,
+     * предметы, бронирования и запросы. Возвращает число ответов с неожиданным кодом.
+     */
+    int seed() throws IOException, InterruptedException {
+        int unexpected = 0;
+        for (PostmanRequest request : collection.getRequests()) {
+            if (!request.getDelay().isZero()) {
+                Thread.sleep(request.getDelay().toMillis());
+            }
+            HttpResponse<String> response = httpClient.send(
+                    request.render(baseUrl, Map.of(), Duration.ZERO, requestTimeout),
+                    HttpResponse.BodyHandlers.ofString());
+            if (!request.isExpected(response.statusCode())) {
+                unexpected++;
+                System.out.printf("Наполнение: \"%s\" вернул %d%n", request.getName(), response.statusCode());
+            }
+        }
+        return unexpected;
+    }
+
+    Map<String, EndpointStats> run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<Map<String, EndpointStats>> perThread = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Map<String, EndpointStats> stats = new HashMap<>();
+            perThread.add(stats);
+            Thread thread = new Thread(() -> virtualUser(stats, measureFrom, deadline), "load-vu-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Map<String, EndpointStats> result = new TreeMap<>();
+        for (Map<String, EndpointStats> stats : perThread) {
+            stats.forEach((endpoint, endpointStats) ->
+                    result.computeIfAbsent(endpoint, key -> new EndpointStats()).merge(endpointStats));
+        }
+        return result;
+    }
+
+    private void virtualUser(Map<String, EndpointStats> stats, long measureFrom, long deadline) {
+        while (System.nanoTime() < deadline) {
+            Flow flow = nextFlow();
+            Duration shift = FIRST_BOOKING_SHIFT.plus(BOOKING_SHIFT_STEP.multipliedBy(iterations.incrementAndGet()));
+            Map<String, String> variables = new HashMap<>();
+            for (String step : flow.getSteps()) {
+                PostmanRequest request = collection.get(step);
+                HttpRequest httpRequest = request.render(baseUrl, variables, shift, requestTimeout);
+                long start = System.nanoTime();
+                HttpResponse<String> response;
+                try {
+                    response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                } catch (IOException e) {
+                    if (start >= measureFrom) {
+                        stats.computeIfAbsent(request.getEndpoint(), key -> new EndpointStats()).recordFailure();
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long latency = System.nanoTime() - start;
+                boolean expected = request.isExpected(response.statusCode());
+                if (start >= measureFrom && start < deadline) {
+                    stats.computeIfAbsent(request.getEndpoint(), key -> new EndpointStats()).record(latency, expected);
+                }
+                if (!expected) {
+                    break;
+                }
+                if ("POST".equals(request.getMethod())) {
+                    captureCreatedId(request, response.body(), variables);
+                }
+            }
+        }
+    }
+
+    private Flow nextFlow() {
+        double point = ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return flows.get(i);
+            }
+        }
+        return flows.get(flows.size() - 1);
+    }
+
+    private void captureCreatedId(PostmanRequest request, String body, Map<String, String> variables) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null) {
+                variables.put(request.getCreatedIdVariable(), id.asText());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Ответ на \"" + request.getName() + "\" не является JSON", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.bench.load;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Нагрузочный прогон gateway + server по сценариям из коллекции Postman.
+ * Печатает по каждому эндпоинту число запросов, ошибки, пропускную способность и перцентили задержки.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PostmanCollection collection = PostmanCollection.read(options.getCollection());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        URI baseUrl = options.getBaseUrl();
+        ShareItStack stack = null;
+        if (baseUrl == null) {
+            System.out.println("Запуск shareIt-server и shareIt-gateway, логи в " + options.getWorkDir());
+            stack = ShareItStack.start(options, httpClient);
+            baseUrl = stack.getGatewayUrl();
+        }
+        try {
+            LoadRunner runner = new LoadRunner(httpClient, baseUrl, collection, options.getMix(),
+                    options.getRequestTimeout());
+            if (!options.isSkipSeed()) {
+                int unexpected = runner.seed();
+                System.out.printf("Наполнение: выполнено %d запросов коллекции, неожиданных ответов: %d%n",
+                        collection.getRequests().size(), unexpected);
+            }
+            System.out.printf("Нагрузка: %s, пользователей %d, прогрев %ds, замер %ds%n", options.getMix(),
+                    options.getConcurrency(), options.getWarmup().toSeconds(), options.getDuration().toSeconds());
+            Map<String, EndpointStats> stats = runner.run(options.getConcurrency(), options.getWarmup(),
+                    options.getDuration());
+            print(stats, options.getDuration());
+            if (options.getCsv() != null) {
+                writeCsv(stats, options.getDuration(), options.getCsv());
+            }
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+
+    private static void print(Map<String, EndpointStats> stats, Duration duration) {
+        String format = "%-40s %9s %7s %9s %9s %9s %9s%n";
+        System.out.printf(format, "Endpoint", "Requests", "Errors", "RPS", "p50 ms", "p95 ms", "p99 ms");
+        EndpointStats total = new EndpointStats();
+        stats.forEach((endpoint, endpointStats) -> {
+            System.out.printf(format, row(endpoint, endpointStats, duration));
+            total.merge(endpointStats);
+        });
+        System.out.printf(format, row("TOTAL", total, duration));
+    }
+
+    private static void writeCsv(Map<String, EndpointStats> stats, Duration duration, Path csv) throws IOException {
+        if (csv.getParent() != null) {
+            Files.createDirectories(csv.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            writer.println("endpoint,requests,errors,rps,p50_ms,p95_ms,p99_ms");
+            stats.forEach((endpoint, endpointStats) -> writer.println(String.join(",",
+                    row(endpoint, endpointStats, duration))));
+        }
+    }
+
+    private static String[] row(String endpoint, EndpointStats stats, Duration duration) {
+        return new String[]{
+                endpoint,
+                String.valueOf(stats.getCount()),
+                String.valueOf(stats.getErrors()),
+                String.format(Locale.ROOT, "%.1f", stats.getCount() * 1000.0 / duration.toMillis()),
+                String.format(Locale.ROOT, "%.2f", stats.percentileMillis(50)),
+                String.format(Locale.ROOT, "%.2f", stats.percentileMillis(95)),
+                String.format(Locale.ROOT, "%.2f", stats.percentileMillis(99))
+        };
+    }
+}
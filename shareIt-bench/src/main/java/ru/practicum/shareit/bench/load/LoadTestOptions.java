@@ -0,0 +1,124 @@
+package ru.practicum.shareit.bench.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного прогона, задаются аргументами вида --concurrency 32.
+ */
+final class LoadTestOptions {
+
+    private final Map<String, String> values;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Ожидался параметр вида --name, получено: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            int separator = name.indexOf('=');
+            if (separator >= 0) {
+                values.put(name.substring(0, separator), name.substring(separator + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                values.put(name, args[++i]);
+            } else {
+                values.put(name, "true");
+            }
+        }
+        return new LoadTestOptions(values);
+    }
+
+    /**
+     * Адрес уже запущенного gateway. Если не задан, gateway и сервер поднимаются из собранных jar на H2.
+     */
+    URI getBaseUrl() {
+        String baseUrl = values.get("base-url");
+        return baseUrl == null ? null : URI.create(baseUrl.endsWith("/")
+                ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl);
+    }
+
+    Path getCollection() {
+        return Path.of(values.getOrDefault("collection", "postman/sprint.json"));
+    }
+
+    Path getServerJar() {
+        return Path.of(values.getOrDefault("server-jar", "shareIt-server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+    }
+
+    Path getGatewayJar() {
+        return Path.of(values.getOrDefault("gateway-jar", "shareIt-gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+    }
+
+    int getServerPort() {
+        return Integer.parseInt(values.getOrDefault("server-port", "9090"));
+    }
+
+    int getGatewayPort() {
+        return Integer.parseInt(values.getOrDefault("gateway-port", "8080"));
+    }
+
+    /**
+     * Режим клиента gateway (blocking или reactive), передается в shareit-server.client.mode.
+     */
+    String getClientMode() {
+        return values.getOrDefault("client-mode", "blocking");
+    }
+
+    Path getWorkDir() {
+        return Path.of(values.getOrDefault("work-dir", "shareIt-bench/target/load"));
+    }
+
+    int getConcurrency() {
+        return Integer.parseInt(values.getOrDefault("concurrency", "16"));
+    }
+
+    Duration getWarmup() {
+        return DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s"));
+    }
+
+    Duration getDuration() {
+        return DurationStyle.detectAndParse(values.getOrDefault("duration", "60s"));
+    }
+
+    Duration getRequestTimeout() {
+        return DurationStyle.detectAndParse(values.getOrDefault("request-timeout", "30s"));
+    }
+
+    boolean isSkipSeed() {
+        return Boolean.parseBoolean(values.getOrDefault("skip-seed", "false"));
+    }
+
+    /**
+     * Доли сценариев, например search=5,booking=2,owner=3.
+     */
+    Map<Scenario, Integer> getMix() {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : values.getOrDefault("mix", "search=5,booking=2,owner=3").split(",")) {
+            String[] scenarioAndWeight = part.split("=");
+            int weight = scenarioAndWeight.length > 1 ? Integer.parseInt(scenarioAndWeight[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(Scenario.of(scenarioAndWeight[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один сценарий в --mix");
+        }
+        return mix;
+    }
+
+    Path getCsv() {
+        String csv = values.get("csv");
+        return csv == null ? null : Path.of(csv);
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.bench.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Коллекция Postman (postman/sprint.json), развернутая в плоский список запросов в порядке выполнения.
+ * Из test скриптов берутся ожидаемые коды ответа, из pre-request скриптов - даты и паузы.
+ */
+final class PostmanCollection {
+
+    private static final String BASE_URL = "{{baseUrl}}";
+
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "host", "connection");
+
+    private static final Pattern STATUS_CODES = Pattern.compile("oneOf\\(\\[([\\d,\\s]+)]\\)|have\\.status\\((\\d+)\\)");
+
+    private static final Pattern MOMENT_VARIABLE = Pattern.compile("var\\s+(\\w+)\\s*=\\s*moment\\(\\)(.*)");
+
+    private static final Pattern MOMENT_ADD = Pattern.compile("\\.add\\((-?\\d+),\\s*'(\\w+)'\\)");
+
+    private static final Pattern ENVIRONMENT_SET = Pattern.compile("pm\\.environment\\.set\\('(\\w+)',\\s*(\\w+)\\.format");
+
+    private static final Pattern TIMEOUT = Pattern.compile("setTimeout\\(.*,\\s*(\\d+)\\)");
+
+    private final List<PostmanRequest> requests;
+
+    private final Map<String, PostmanRequest> requestsByName;
+
+    private PostmanCollection(List<PostmanRequest> requests) {
+        this.requests = Collections.unmodifiableList(requests);
+        Map<String, PostmanRequest> byName = new HashMap<>();
+        for (PostmanRequest request : requests) {
+            byName.putIfAbsent(request.getName(), request);
+        }
+        this.requestsByName = byName;
+    }
+
+    static PostmanCollection read(Path file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+        List<PostmanRequest> requests = new ArrayList<>();
+        collect(root.path("item"), requests);
+        return new PostmanCollection(requests);
+    }
+
+    List<PostmanRequest> getRequests() {
+        return requests;
+    }
+
+    PostmanRequest get(String name) {
+        PostmanRequest request = requestsByName.get(name);
+        if (request == null) {
+            throw new IllegalArgumentException("В коллекции нет запроса \"" + name + "\"");
+        }
+        return request;
+    }
+
+    private static void collect(JsonNode items, List<PostmanRequest> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.get("item"), requests);
+            } else {
+                requests.add(toRequest(item));
+            }
+        }
+    }
+
+    private static PostmanRequest toRequest(JsonNode item) {
+        JsonNode request = item.get("request");
+        JsonNode url = request.get("url");
+        String raw = url.isTextual() ? url.asText() : url.path("raw").asText();
+        raw = raw.startsWith(BASE_URL) ? raw.substring(BASE_URL.length()) : raw;
+        int querySeparator = raw.indexOf('?');
+        String path = querySeparator < 0 ? raw : raw.substring(0, querySeparator);
+        String query = querySeparator < 0 ? "" : raw.substring(querySeparator + 1);
+
+        Map<String, String> pathVariables = new HashMap<>();
+        for (JsonNode variable : url.path("variable")) {
+            pathVariables.put(variable.path("key").asText(), variable.path("value").asText());
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (JsonNode header : request.path("header")) {
+            String key = header.path("key").asText();
+            if (!header.path("disabled").asBoolean(false) && !SKIPPED_HEADERS.contains(key.toLowerCase())) {
+                headers.put(key, header.path("value").asText());
+            }
+        }
+        JsonNode body = request.path("body");
+        String rawBody = "raw".equals(body.path("mode").asText()) ? body.path("raw").asText() : null;
+        if (rawBody != null && "json".equals(body.path("options").path("raw").path("language").asText())
+                && headers.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+            headers.put("Content-Type", "application/json");
+        }
+
+        Set<Integer> expectedStatuses = new LinkedHashSet<>();
+        Map<String, Duration> dateVariables = new HashMap<>();
+        Duration delay = Duration.ZERO;
+        for (JsonNode event : item.path("event")) {
+            String listen = event.path("listen").asText();
+            for (JsonNode line : event.path("script").path("exec")) {
+                if ("test".equals(listen)) {
+                    parseStatuses(line.asText(), expectedStatuses);
+                } else if ("prerequest".equals(listen)) {
+                    delay = parsePrerequest(line.asText(), dateVariables, delay);
+                }
+            }
+        }
+        return new PostmanRequest(item.path("name").asText(), request.path("method").asText(), path, query,
+                pathVariables, headers, rawBody, expectedStatuses, dateVariables, delay);
+    }
+
+    private static void parseStatuses(String line, Set<Integer> expectedStatuses) {
+        Matcher matcher = STATUS_CODES.matcher(line);
+        while (matcher.find()) {
+            String codes = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            for (String code : codes.split(",")) {
+                expectedStatuses.add(Integer.parseInt(code.trim()));
+            }
+        }
+    }
+
+    /**
+     * Разбирает строки вида var start = moment().add(1, 'd'); и pm.environment.set('start', start.format(...)).
+     * Смещения локальных переменных скрипта хранятся под ключом "#имя" до переноса в переменные окружения.
+     */
+    private static Duration parsePrerequest(String line, Map<String, Duration> dateVariables, Duration delay) {
+        Matcher momentVariable = MOMENT_VARIABLE.matcher(line);
+        if (momentVariable.find()) {
+            Duration offset = Duration.ZERO;
+            Matcher add = MOMENT_ADD.matcher(momentVariable.group(2));
+            while (add.find()) {
+                offset = offset.plus(Integer.parseInt(add.group(1)), toUnit(add.group(2)));
+            }
+            dateVariables.put("#" + momentVariable.group(1), offset);
+            return delay;
+        }
+        Matcher environmentSet = ENVIRONMENT_SET.matcher(line);
+        if (environmentSet.find()) {
+            Duration offset = dateVariables.get("#" + environmentSet.group(2));
+            if (offset != null) {
+                dateVariables.put(environmentSet.group(1), offset);
+            }
+            return delay;
+        }
+        Matcher timeout = TIMEOUT.matcher(line);
+        if (timeout.find()) {
+            return delay.plusMillis(Long.parseLong(timeout.group(1)));
+        }
+        return delay;
+    }
+
+    private static ChronoUnit toUnit(String unit) {
+        switch (unit) {
+            case "s":
+                return ChronoUnit.SECONDS;
+            case "m":
+                return ChronoUnit.MINUTES;
+            case "h":
+                return ChronoUnit.HOURS;
+            case "d":
+                return ChronoUnit.DAYS;
+            default:
+                throw new IllegalArgumentException("Неизвестная единица времени moment: " + unit);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.bench.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Запрос из коллекции Postman: метод, путь с переменными, заголовки, тело и ожидаемые коды ответа.
+ * Даты из pre-request скриптов вида moment().add(1, 'd') вычисляются при каждой отправке.
+ */
+final class PostmanRequest {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final String name;
+
+    private final String method;
+
+    private final String path;
+
+    private final String query;
+
+    private final Map<String, String> pathVariables;
+
+    private final Map<String, String> headers;
+
+    private final String body;
+
+    private final Set<Integer> expectedStatuses;
+
+    private final Map<String, Duration> dateVariables;
+
+    private final Duration delay;
+
+    PostmanRequest(String name, String method, String path, String query, Map<String, String> pathVariables,
+                   Map<String, String> headers, String body, Set<Integer> expectedStatuses,
+                   Map<String, Duration> dateVariables, Duration delay) {
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.pathVariables = pathVariables;
+        this.headers = headers;
+        this.body = body;
+        this.expectedStatuses = expectedStatuses;
+        this.dateVariables = dateVariables;
+        this.delay = delay;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    /**
+     * Эндпоинт для статистики: метод и путь с именами переменных, без параметров запроса.
+     */
+    String getEndpoint() {
+        String route = path.replaceAll(":(\\w+)", "{$1}");
+        if (route.length() > 1 && route.endsWith("/")) {
+            route = route.substring(0, route.length() - 1);
+        }
+        return method + " " + route;
+    }
+
+    /**
+     * Имя переменной пути, в которую попадает id созданной сущности: POST /bookings -> bookingId.
+     */
+    String getCreatedIdVariable() {
+        String resource = path.substring(path.lastIndexOf('/') + 1);
+        if (resource.endsWith("s")) {
+            resource = resource.substring(0, resource.length() - 1);
+        }
+        return resource + "Id";
+    }
+
+    Duration getDelay() {
+        return delay;
+    }
+
+    boolean isExpected(int status) {
+        if (expectedStatuses.isEmpty()) {
+            return status >= 200 && status < 300;
+        }
+        return expectedStatuses.contains(status);
+    }
+
+    HttpRequest render(URI baseUrl, Map<String, String> overrides, Duration shift, Duration timeout) {
+        Map<String, String> variables = new LinkedHashMap<>(pathVariables);
+        variables.putAll(overrides);
+        StringBuilder uri = new StringBuilder(baseUrl.toString());
+        for (String segment : path.split("/", -1)) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            uri.append('/').append(segment.startsWith(":") ? variables.get(segment.substring(1)) : segment);
+        }
+        if (path.endsWith("/")) {
+            uri.append('/');
+        }
+        if (!query.isEmpty()) {
+            uri.append('?').append(encodeQuery(query));
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri.toString())).timeout(timeout);
+        headers.forEach(builder::header);
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.ofString(substitute(body, shift),
+                    StandardCharsets.UTF_8));
+        }
+        return builder.build();
+    }
+
+    private String substitute(String text, Duration shift) {
+        if (dateVariables.isEmpty()) {
+            return text;
+        }
+        LocalDateTime now = LocalDateTime.now().plus(shift);
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            Duration offset = dateVariables.get(matcher.group(1));
+            String value = offset == null ? matcher.group() : now.plus(offset).format(DATE_FORMAT);
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String encodeQuery(String query) {
+        StringBuilder result = new StringBuilder();
+        for (String parameter : query.split("&")) {
+            if (result.length() > 0) {
+                result.append('&');
+            }
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                result.append(URLEncoder.encode(parameter, StandardCharsets.UTF_8));
+            } else {
+                result.append(URLEncoder.encode(parameter.substring(0, separator), StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return result.toString();
+    }
+}
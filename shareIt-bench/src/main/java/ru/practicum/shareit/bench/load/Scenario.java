@@ -0,0 +1,55 @@
+package ru.practicum.shareit.bench.load;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Профили нагрузки, собранные из запросов коллекции Postman. Вес потока задает его долю внутри сценария.
+ */
+enum Scenario {
+
+    /**
+     * Посетители ищут вещи и открывают карточки предметов и ленту запросов.
+     */
+    SEARCH(List.of(
+            new Flow(3, "Item search дрель"),
+            new Flow(3, "Item search аккумуляторная available"),
+            new Flow(2, "Item search отвертка"),
+            new Flow(2, "Item 2 get by user 1 with comments"),
+            new Flow(1, "Requests get all with from = 0 & size = 20 for other user"))),
+
+    /**
+     * Арендаторы создают бронирования, владелец подтверждает или отклоняет их, арендаторы смотрят свои списки.
+     */
+    BOOKING(List.of(
+            new Flow(3, "Booking 2 create from user 1 to item 2", "Booking 2 set approve by user 4 (owner)"),
+            new Flow(1, "Booking 4 create from user 5 to item 2", "Booking 5 set rejected by user 4 (owner)"),
+            new Flow(2, "Booking get all for user 1 by ALL state"),
+            new Flow(2, "Booking get all for user 1 by FUTURE state"),
+            new Flow(1, "Booking 2 get by user 1 (booker)"))),
+
+    /**
+     * Владелец просматривает свои предметы с бронированиями и входящие бронирования.
+     */
+    OWNER(List.of(
+            new Flow(4, "Item get all user 4 with bookings"),
+            new Flow(2, "Item 2 get by user 4 (owner) with  bookings"),
+            new Flow(2, "Booking get all for owner by ALL state"),
+            new Flow(1, "Booking get all for user 4 (owner) by WAITING state"),
+            new Flow(1, "Booking get all for owner by FUTURE state"),
+            new Flow(1, "Booking 2 get by user 4 (owner)")));
+
+    private final List<Flow> flows;
+
+    Scenario(List<Flow> flows) {
+        this.flows = flows;
+    }
+
+    List<Flow> getFlows() {
+        return flows;
+    }
+
+    static Scenario of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.bench.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер на H2 (профиль test) и gateway, запущенные отдельными процессами из собранных jar.
+ * Логи процессов пишутся в рабочий каталог прогона.
+ */
+final class ShareItStack implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process server;
+
+    private final Process gateway;
+
+    private final URI gatewayUrl;
+
+    private ShareItStack(Process server, Process gateway, URI gatewayUrl) {
+        this.server = server;
+        this.gateway = gateway;
+        this.gatewayUrl = gatewayUrl;
+    }
+
+    static ShareItStack start(LoadTestOptions options, HttpClient httpClient)
+            throws IOException, InterruptedException {
+        Files.createDirectories(options.getWorkDir());
+        URI serverUrl = URI.create("http://localhost:" + options.getServerPort());
+        URI gatewayUrl = URI.create("http://localhost:" + options.getGatewayPort());
+
+        Process server = launch(options.getServerJar(), options.getWorkDir().resolve("server.log"),
+                "--spring.profiles.active=test",
+                "--server.port=" + options.getServerPort());
+        Process gateway = null;
+        try {
+            awaitHealthy(server, serverUrl, httpClient, "server.log");
+            gateway = launch(options.getGatewayJar(), options.getWorkDir().resolve("gateway.log"),
+                    "--server.port=" + options.getGatewayPort(),
+                    "--shareit-server.url=" + serverUrl,
+                    "--shareit-server.client.mode=" + options.getClientMode(),
+                    "--logging.level.org.springframework.web.client.RestTemplate=INFO");
+            awaitHealthy(gateway, gatewayUrl, httpClient, "gateway.log");
+            return new ShareItStack(server, gateway, gatewayUrl);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stop(gateway);
+            stop(server);
+            throw e;
+        }
+    }
+
+    URI getGatewayUrl() {
+        return gatewayUrl;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stop(gateway);
+        stop(server);
+    }
+
+    private static Process launch(Path jar, Path log, String... args) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден " + jar + ", соберите проект: mvn -Pbench package -DskipTests");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitHealthy(Process process, URI baseUrl, HttpClient httpClient, String log)
+            throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(baseUrl.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Процесс " + baseUrl + " завершился при старте, см. " + log);
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // еще не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Не дождались запуска " + baseUrl + ", см. " + log);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(15, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
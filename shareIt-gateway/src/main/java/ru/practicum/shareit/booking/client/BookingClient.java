@@ -1,19 +1,19 @@
 package ru.practicum.shareit.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
 import ru.practicum.shareit.exception.IncorrectRequestParamsException;
 import ru.practicum.shareit.exception.UserNotAuthorizedException;
 import ru.practicum.shareit.validator.CustomValidator;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -21,22 +21,17 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ShareItServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createBooking(BookingDto bookingDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createBooking(BookingDto bookingDto, Long userId) {
         isUserAuthorized(userId);
         CustomValidator.isBookingValid(bookingDto);
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> changeBookingStatus(Long bookingId, String approved, Long userId) {
+    public Mono<ResponseEntity<Object>> changeBookingStatus(Long bookingId, String approved, Long userId) {
         isUserAuthorized(userId);
         if (!(approved.equals("true") || approved.equals("false"))) {
             throw new IncorrectRequestParamsException("Некорректно указан статус бронирования");
@@ -44,34 +39,52 @@ public class BookingClient extends BaseClient {
         return patch("/" + + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> deleteBooking(Long bookingId, Long userId) {
+    public Mono<ResponseEntity<Object>> deleteBooking(Long bookingId, Long userId) {
         isUserAuthorized(userId);
         return delete("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findById(Long bookingId, Long userId) {
+    public Mono<ResponseEntity<Object>> findById(Long bookingId, Long userId) {
         isUserAuthorized(userId);
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findUserBookings(Long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findUserBookings(Long userId, BookingState state, Integer from, Integer size,
+                                                   String cursor) {
         isUserAuthorized(userId);
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> findOwnerBookings(Long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findOwnerBookings(Long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
         isUserAuthorized(userId);
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor));
+    }
+
+    public Mono<ResponseEntity<ResponseBodyEmitter>> exportUserBookings(Long userId, BookingState state) {
+        isUserAuthorized(userId);
+        return stream("/export?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    public Mono<ResponseEntity<ResponseBodyEmitter>> exportOwnerBookings(Long userId, BookingState state) {
+        isUserAuthorized(userId);
+        return stream("/owner/export?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    private String pageQuery(String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    private Map<String, Object> pageParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 
     private void isUserAuthorized(Long userId) {
@@ -1,93 +1,166 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
+    /**
+     * Заголовки ответа shareIt-server, которые шлюз передает клиенту. Остальные (соединение, длина, служебные
+     * заголовки сервера) к ответу шлюза не относятся.
+     */
+    private static final List<String> GATEWAY_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION,
+            "X-Next-Cursor", HttpHeaders.CONTENT_DISPOSITION);
+
     protected final RestTemplate rest;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final WebClient webClient;
+
+    private final Executor streamExecutor;
+
+    private final Duration streamTimeout;
+
+    public BaseClient(ShareItServerClientFactory clientFactory, String apiPrefix) {
+        this.streamExecutor = clientFactory.streamExecutor();
+        this.streamTimeout = clientFactory.streamTimeout();
+        if (clientFactory.isReactive()) {
+            this.rest = null;
+            this.webClient = clientFactory.webClient(apiPrefix);
+        } else {
+            this.rest = clientFactory.restTemplate(apiPrefix);
+            this.webClient = null;
+        }
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    /**
+     * Проксирует потоковый ответ shareIt-server по мере чтения, не собирая тело в памяти шлюза.
+     * Статус и заголовки ответа сервера, в том числе ошибки, передаются клиенту как есть.
+     * Тело копирует {@link ProxyStreamEmitter}, он же закрывает соединение с сервером.
+     */
+    protected Mono<ResponseEntity<ResponseBodyEmitter>> stream(String path, @Nullable Long userId,
+                                                                 @Nullable Map<String, Object> parameters) {
+        if (webClient != null) {
+            return streamReactive(path, userId, parameters);
+        }
+        return Mono.fromCallable(() -> streamBlocking(path, userId, parameters));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (webClient != null) {
+            return exchangeReactive(method, path, userId, parameters, body);
+        }
+        return Mono.fromCallable(() -> exchangeBlocking(method, path, userId, parameters, body));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchangeReactive(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(response -> {
+            if (response.statusCode().is2xxSuccessful()) {
+                return response.toEntity(byte[].class).map(BaseClient::prepareGatewayResponse);
+            }
+            return response.toEntity(byte[].class)
+                    .map(error -> ResponseEntity.status(error.getStatusCode()).body((Object) error.getBody()));
+        });
+    }
+
+    private <T> ResponseEntity<Object> exchangeBlocking(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
@@ -95,6 +168,71 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private Mono<ResponseEntity<ResponseBodyEmitter>> streamReactive(String path, @Nullable Long userId,
+                                                                   @Nullable Map<String, Object> parameters) {
+        return webClient.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(streamHeaders(userId)))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> {
+                    AtomicBoolean subscribed = new AtomicBoolean();
+                    Flux<DataBuffer> body = response.getBody().doOnSubscribe(subscription -> subscribed.set(true));
+                    StreamingResponseBody copy = out -> DataBufferUtils.write(body, out)
+                            .map(DataBufferUtils::release)
+                            .then()
+                            .block();
+                    // тело, которое так и не начали читать, приходится прочитать и сразу отменить,
+                    // иначе reactor-netty не вернет соединение
+                    Runnable release = () -> {
+                        if (!subscribed.get()) {
+                            body.subscribe(DataBufferUtils::release, e -> { }).dispose();
+                        }
+                    };
+                    return proxy(response.getHeaders(), response.getStatusCode(), copy, release);
+                });
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> streamBlocking(String path, @Nullable Long userId,
+                                                               @Nullable Map<String, Object> parameters)
+            throws IOException {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        request.getHeaders().addAll(streamHeaders(userId));
+        ClientHttpResponse response = request.execute();
+        InputStream body = response.getBody();
+        // закрытие недочитанного тела дочитало бы его до конца, поэтому соединение сначала обрывается
+        Runnable release = () -> {
+            if (body instanceof ConnectionReleaseTrigger) {
+                try {
+                    ((ConnectionReleaseTrigger) body).abortConnection();
+                } catch (IOException ignored) {
+                    // соединение все равно не вернется в пул
+                }
+            }
+            response.close();
+        };
+        return proxy(response.getHeaders(), response.getStatusCode(), out -> StreamUtils.copy(body, out), release);
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> proxy(HttpHeaders serverHeaders, HttpStatus status,
+                                                      StreamingResponseBody copy, Runnable release) {
+        return new ResponseEntity<>(new ProxyStreamEmitter(streamTimeout, streamExecutor, copy, release),
+                gatewayHeaders(serverHeaders), status);
+    }
+
+    private HttpHeaders streamHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        // прерванная выгрузка оставляет соединение в неизвестном состоянии, в пул оно возвращаться не должно
+        headers.setConnection("close");
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -105,9 +243,13 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    /**
+     * Тело успешного ответа передается клиенту байтами, как его вернул shareIt-server, без разбора JSON.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            return new ResponseEntity<>(response.getBody(), gatewayHeaders(response.getHeaders()),
+                    response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -118,4 +260,15 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders gatewayHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : GATEWAY_HEADERS) {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Обработчик Mono, возвращаемых контроллерами в режиме blocking. Mono клиента в этом режиме уже синхронный,
+ * поэтому он выполняется прямо в потоке запроса, а результат передается стандартным обработчикам Spring MVC,
+ * как если бы контроллер вернул ResponseEntity. Так запрос не проходит асинхронную обработку Spring MVC
+ * с повторным диспетчерированием, через нее идут только потоковые выгрузки.
+ */
+class BlockingMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final HandlerMethodReturnValueHandlerComposite delegates = new HandlerMethodReturnValueHandlerComposite();
+
+    BlockingMonoReturnValueHandler(List<HandlerMethodReturnValueHandler> delegates) {
+        this.delegates.addHandlers(delegates);
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        Object value;
+        try {
+            value = returnValue != null ? ((Mono<?>) returnValue).block() : null;
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+        delegates.handleReturnValue(value, new MonoValueParameter(returnType, value), mavContainer, webRequest);
+    }
+
+    /**
+     * Тип возвращаемого значения метода контроллера, из которого снят Mono: Mono&lt;ResponseEntity&lt;Object&gt;&gt;
+     * обрабатывается как ResponseEntity&lt;Object&gt;.
+     */
+    private static class MonoValueParameter extends MethodParameter {
+
+        @Nullable
+        private final Object value;
+
+        private final ResolvableType valueType;
+
+        MonoValueParameter(MethodParameter returnType, @Nullable Object value) {
+            super(returnType);
+            this.value = value;
+            this.valueType = ResolvableType.forMethodParameter(returnType).getGeneric();
+        }
+
+        private MonoValueParameter(MonoValueParameter original) {
+            super(original);
+            this.value = original.value;
+            this.valueType = original.valueType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return value != null ? value.getClass() : valueType.toClass();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return valueType.getType();
+        }
+
+        @Override
+        public MonoValueParameter clone() {
+            return new MonoValueParameter(this);
+        }
+    }
+}
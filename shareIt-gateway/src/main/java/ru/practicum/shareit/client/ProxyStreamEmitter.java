@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Тело потокового ответа шлюза. Копирует уже открытый ответ shareIt-server клиенту в пуле выгрузок,
+ * начиная с момента, когда заголовки ответа отправлены. Соединение с сервером освобождается ровно один раз
+ * при любом исходе: после полного копирования, ошибки записи, таймаута или обрыва соединения клиентом,
+ * в том числе если копирование так и не началось.
+ */
+class ProxyStreamEmitter extends ResponseBodyEmitter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Executor executor;
+
+    private final StreamingResponseBody upstream;
+
+    private final Runnable release;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ProxyStreamEmitter(Duration timeout, Executor executor, StreamingResponseBody upstream, Runnable release) {
+        super(timeout.toMillis());
+        this.executor = executor;
+        this.upstream = upstream;
+        this.release = release;
+        onTimeout(this::release);
+        onError(e -> release());
+        onCompletion(this::release);
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        executor.execute(this::copy);
+    }
+
+    private void copy() {
+        try (OutputStream out = new BufferedOutputStream(new EmitterOutputStream(), BUFFER_SIZE)) {
+            upstream.writeTo(out);
+        } catch (IOException | RuntimeException e) {
+            // после таймаута или обрыва ответ уже завершается, а ошибка чтения вызвана закрытием соединения
+            if (released.get()) {
+                return;
+            }
+            release();
+            completeWithError(e);
+            return;
+        }
+        complete();
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+
+    private class EmitterOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            send(Arrays.copyOfRange(b, off, off + len), MediaType.APPLICATION_OCTET_STREAM);
+        }
+    }
+}
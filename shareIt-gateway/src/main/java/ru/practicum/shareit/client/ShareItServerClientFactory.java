@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.time.Duration;
+
+/**
+ * Создает клиентов shareIt-server в режиме, заданном свойством shareit-server.client.mode:
+ * блокирующий RestTemplate на общем пуле соединений или неблокирующий WebClient.
+ */
+@Component
+public class ShareItServerClientFactory {
+
+    private final String serverUrl;
+
+    private final ShareItServerClientMode mode;
+
+    private final RestTemplateBuilder restTemplateBuilder;
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    private final ObjectProvider<WebClient.Builder> webClientBuilder;
+
+    private final AsyncTaskExecutor streamExecutor;
+
+    private final Duration streamTimeout;
+
+    public ShareItServerClientFactory(@Value("${shareit-server.url}") String serverUrl,
+                                      @Value("${shareit-server.client.mode:blocking}") ShareItServerClientMode mode,
+                                      RestTemplateBuilder restTemplateBuilder,
+                                      ClientHttpRequestFactory requestFactory,
+                                      ObjectProvider<WebClient.Builder> webClientBuilder,
+                                      AsyncTaskExecutor shareItServerStreamExecutor,
+                                      @Value("${shareit.export.timeout:30m}") Duration streamTimeout) {
+        this.serverUrl = serverUrl;
+        this.mode = mode;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.webClientBuilder = webClientBuilder;
+        this.streamExecutor = shareItServerStreamExecutor;
+        this.streamTimeout = streamTimeout;
+    }
+
+    public boolean isReactive() {
+        return mode == ShareItServerClientMode.REACTIVE;
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /**
+     * Пул, в котором тела потоковых ответов копируются клиенту.
+     */
+    public AsyncTaskExecutor streamExecutor() {
+        return streamExecutor;
+    }
+
+    /**
+     * Таймаут потокового ответа; остальные запросы живут со стандартным таймаутом асинхронной обработки.
+     */
+    public Duration streamTimeout() {
+        return streamTimeout;
+    }
+
+    public WebClient webClient(String apiPrefix) {
+        return webClientBuilder.getObject()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .build();
+    }
+}
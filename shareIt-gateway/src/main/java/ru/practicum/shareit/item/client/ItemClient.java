@@ -1,79 +1,118 @@
 package ru.practicum.shareit.item.client;
 
+import ru.practicum.shareit.exception.IncorrectRequestParamsException;
 import ru.practicum.shareit.exception.UserNotAuthorizedException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validator.CustomValidator;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ShareItServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(ItemDto itemDto, Long userId) {
         isUserAuthorized(userId);
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(ItemDto itemDto, Long itemId, Long userId) {
         isUserAuthorized(userId);
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> deleteItem(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> createItems(List<ItemDto> itemDtos, Long userId) {
+        isUserAuthorized(userId);
+        return post("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItems(List<ItemDto> itemDtos, Long userId) {
+        isUserAuthorized(userId);
+        return patch("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteItem(Long itemId, Long userId) {
         isUserAuthorized(userId);
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> addComment(CommentDto commentDto, Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> addComment(CommentDto commentDto, Long itemId, Long userId) {
         isUserAuthorized(userId);
         CustomValidator.isCommentValid(commentDto);
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
-    public ResponseEntity<Object> updateComment(CommentDto commentDto, Long itemId, Long commentId, Long userId) {
+    public Mono<ResponseEntity<Object>> updateComment(CommentDto commentDto, Long itemId, Long commentId, Long userId) {
         isUserAuthorized(userId);
         //CustomValidator.isCommentValid(commentDto);
         return patch("/" + itemId + "/comment/" + commentId, userId, commentDto);
     }
 
-    public ResponseEntity<Object> deleteComment(Long commentId, Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> deleteComment(Long commentId, Long itemId, Long userId) {
         isUserAuthorized(userId);
         return delete("/" + itemId + "/comment/" + commentId, userId);
     }
 
-    public ResponseEntity<Object> findItemById(Long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> findItemById(Long userId, Long itemId) {
         isUserAuthorized(userId);
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> findUserAllItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findUserAllItems(Long userId, Integer from, Integer size) {
         isUserAuthorized(userId);
         return get("?from=" + from + "&size=" + size, userId);
     }
 
-    public ResponseEntity<Object> searchItemByNameAndDescription(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItemByNameAndDescription(String text, Integer from, Integer size) {
         return get("/search?text=" + text + "&from=" + from + "&size=" + size);
     }
 
+    public Mono<ResponseEntity<Object>> findItemAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                             LocalDateTime to) {
+        isUserAuthorized(userId);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IncorrectRequestParamsException("Начало периода должно быть раньше его окончания");
+        }
+        StringBuilder query = new StringBuilder("/" + itemId + "/availability");
+        Map<String, Object> parameters = new HashMap<>();
+        if (from != null) {
+            parameters.put("from", from);
+            query.append("?from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            query.append(from != null ? "&" : "?").append("to={to}");
+        }
+        return get(query.toString(), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findItemComments(Long userId, Long itemId, Integer size, String cursor) {
+        isUserAuthorized(userId);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get("/" + itemId + "/comments?size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/" + itemId + "/comments?size={size}&cursor={cursor}", userId, parameters);
+    }
+
     private void isUserAuthorized(Long userId) {
         if (userId == 0) {
             throw new UserNotAuthorizedException("Пользователь не авторизован");
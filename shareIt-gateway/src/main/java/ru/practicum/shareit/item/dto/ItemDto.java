@@ -14,6 +14,11 @@ import javax.validation.constraints.NotNull;
 @AllArgsConstructor
 public class ItemDto {
 
+    /**
+     * Заполняется только в пакетном обновлении, где предмет определяется телом запроса.
+     */
+    private Long id;
+
     @NotEmpty(message = "Название не может быть пустым")
     private String name;
 
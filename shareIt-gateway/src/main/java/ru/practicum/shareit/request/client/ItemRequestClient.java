@@ -1,62 +1,60 @@
 package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
 import ru.practicum.shareit.exception.UserNotAuthorizedException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.validator.CustomValidator;
 
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ShareItServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createRequest(ItemRequestDto itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createRequest(ItemRequestDto itemRequestDto, Long userId) {
         isUserAuthorized(userId);
         CustomValidator.isRequestValid(itemRequestDto);
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> updateItemRequest(ItemRequestDto itemRequestDto, Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> updateItemRequest(ItemRequestDto itemRequestDto, Long userId, Long requestId) {
         isUserAuthorized(userId);
         CustomValidator.isRequestValid(itemRequestDto);
         return patch("/" + requestId, userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> deleteItemRequest(Long requestId, Long userId) {
+    public Mono<ResponseEntity<Object>> deleteItemRequest(Long requestId, Long userId) {
         isUserAuthorized(userId);
         return delete("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> findRequestById(Long requestId, Long userId) {
+    public Mono<ResponseEntity<Object>> findRequestById(Long requestId, Long userId) {
         isUserAuthorized(userId);
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> findAllUserRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> findAllUserRequests(Long userId) {
         isUserAuthorized(userId);
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findAllRequests(Long userId, Integer from, Integer size, String cursor) {
         isUserAuthorized(userId);
-        return get("/all?from=" + from + "&size=" + size, userId);
+        if (cursor == null) {
+            return get("/all?from=" + from + "&size=" + size, userId);
+        }
+        return get("/all?size={size}&cursor={cursor}", userId, Map.of("size", size, "cursor", cursor));
     }
 
     private void isUserAuthorized(Long userId) {
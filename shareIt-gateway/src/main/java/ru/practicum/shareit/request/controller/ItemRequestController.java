@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -22,48 +23,49 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                            @RequestBody @Valid ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                                          @RequestBody @Valid ItemRequestDto itemRequestDto) {
         log.info("Получен POST-запрос /requests с параметром userId: {} и телом запроса: {}", userId, itemRequestDto);
         return itemRequestClient.createRequest(itemRequestDto, userId);
 
     }
 
     @PatchMapping("{requestId}")
-    public ResponseEntity<Object> updateItemRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                                    @RequestBody @Valid ItemRequestDto itemRequestDto,
-                                                    @PathVariable(value = "requestId") Long requestId) {
+    public Mono<ResponseEntity<Object>> updateItemRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                                          @RequestBody @Valid ItemRequestDto itemRequestDto,
+                                                          @PathVariable(value = "requestId") Long requestId) {
         log.info("Получен PATCH-запрос /requests/{} с параметром userId: {} и телом запроса: {}",
                 requestId, userId, itemRequestDto);
         return itemRequestClient.updateItemRequest(itemRequestDto, userId, requestId);
     }
 
     @DeleteMapping("{requestId}")
-    public ResponseEntity<Object> deleteRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                @PathVariable(value = "requestId") Long requestId) {
+    public Mono<ResponseEntity<Object>> deleteRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                                      @PathVariable(value = "requestId") Long requestId) {
         log.info("Получен DELETE-запрос /requests/{} с параметром userId: {}", requestId, userId);
         return itemRequestClient.deleteItemRequest(requestId, userId);
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> findRequestById(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                                  @PathVariable(value = "requestId") Long requestId) {
+    public Mono<ResponseEntity<Object>> findRequestById(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                                        @PathVariable(value = "requestId") Long requestId) {
         log.info("Получен GET-запрос /requests/{} с параметром userId: {}", requestId, userId);
         return itemRequestClient.findRequestById(requestId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllUserRequests(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> findAllUserRequests(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         log.info("Получен GET-запрос /requests с параметром userId: {}", userId);
         return itemRequestClient.findAllUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllRequests(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                                  @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                                  @Positive @RequestParam(value = "size", defaultValue = "10") Integer size) {
-        log.info("Получен GET-запрос /requests/all c параметрами from: {} и size: {} и " +
-                "параметром userId: {}", from, size, userId);
-        return itemRequestClient.findAllRequests(userId, from, size);
+    public Mono<ResponseEntity<Object>> findAllRequests(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                                        @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                                        @Positive @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                        @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /requests/all c параметрами from: {}, size: {}, cursor: {} и " +
+                "параметром userId: {}", from, size, cursor, userId);
+        return itemRequestClient.findAllRequests(userId, from, size, cursor);
     }
 }
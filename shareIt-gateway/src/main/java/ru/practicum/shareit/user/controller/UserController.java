@@ -7,10 +7,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @Slf4j
 @Controller
@@ -22,34 +26,43 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) {
         log.info("Запрос о создании нового пользователя {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto userDto, @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody UserDto userDto, @PathVariable Long userId) {
         log.info("Получен PATCH-запрос /users/{} с телом", userId, userDto);
         return userClient.updateUser(userDto, userId);
     }
 
     @DeleteMapping("{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.info("Получен DELETE-запрос /users/{}", userId);
         return userClient.deleteUser(userId);
     }
 
     @GetMapping("{userId}")
-    public ResponseEntity<Object> findUserById(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> findUserById(@PathVariable Long userId) {
         log.info("Получен DELETE-запрос /users/{}", userId);
         return userClient.findUserById(userId);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> findAllUsers() {
-        log.info("Получен GET-запрос /users");
-        return userClient.findAllUsers();
+    public Mono<ResponseEntity<Object>> findAllUsers(
+            @PositiveOrZero @RequestParam(value = "from", required = false) Integer from,
+            @Positive @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /users?from={}&size={}&cursor={}", from, size, cursor);
+        return userClient.findAllUsers(from, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<ResponseBodyEmitter>> exportUsers() {
+        log.info("Получен GET-запрос /users/export");
+        return userClient.exportUsers();
     }
 
 }
@@ -2,12 +2,20 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomeInfo;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.metrics.SqlStatementBudget;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -17,6 +25,7 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    @SqlStatementBudget(4)
     @PostMapping
     public ResponseEntity createBooking(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                         @RequestBody BookingIncomeInfo bookingDto) {
@@ -24,6 +33,7 @@ public class BookingController {
         return new ResponseEntity(bookingService.createBooking(bookingDto, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(2)
     @PatchMapping("/{bookingId}")
     public ResponseEntity approveBooking(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                      @PathVariable(value = "bookingId") Long bookingId,
@@ -34,6 +44,7 @@ public class BookingController {
                 HttpStatus.OK);
     }
 
+    @SqlStatementBudget(8)
     @DeleteMapping("{bookingId}")
     public ResponseEntity deleteBooking(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                 @PathVariable(value = "bookingId") Long bookingId) {
@@ -41,6 +52,7 @@ public class BookingController {
         return new ResponseEntity(new String[]{bookingService.deleteBooking(bookingId, userId)}, HttpStatus.OK);
     }
 
+    @SqlStatementBudget(4)
     @GetMapping("/{bookingId}")
     public ResponseEntity findById(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                @PathVariable(value = "bookingId") Long bookingId) {
@@ -48,24 +60,61 @@ public class BookingController {
         return new ResponseEntity(bookingService.findById(bookingId, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(2)
     @GetMapping
     public ResponseEntity findUserBookings(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                              @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
                                              @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                             @RequestParam(value = "size", defaultValue = "10") Integer size) {
-        log.info("Получен GET-запрос /bookings?state={}&from={}&size={} с параметром userID: {}", state, from,
-                size, userId);
-        return new ResponseEntity(bookingService.findUserBookings(userId, state, from, size), HttpStatus.OK);
+                                             @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                             @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /bookings?state={}&from={}&size={}&cursor={} с параметром userID: {}", state,
+                from, size, cursor, userId);
+        List<BookingDto> bookings = cursor == null ? bookingService.findUserBookings(userId, state, from, size)
+                : bookingService.findUserBookings(userId, state, KeysetCursor.decodeTimed(cursor), size);
+        return new ResponseEntity(bookings, nextCursorHeaders(bookings, size), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(2)
     @GetMapping("/owner")
     public ResponseEntity findOwnerBookings(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                               @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
                                               @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                              @RequestParam(value = "size", defaultValue = "10") Integer size) {
-        log.info("Получен GET-запрос /bookings/owner?state={}&from={}&size={} с параметром userID: {}", state,
-                from, size, userId);
-        return new ResponseEntity(bookingService.findOwnerBookings(userId, state, from, size), HttpStatus.OK);
+                                              @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /bookings/owner?state={}&from={}&size={}&cursor={} с параметром userID: {}",
+                state, from, size, cursor, userId);
+        List<BookingDto> bookings = cursor == null ? bookingService.findOwnerBookings(userId, state, from, size)
+                : bookingService.findOwnerBookings(userId, state, KeysetCursor.decodeTimed(cursor), size);
+        return new ResponseEntity(bookings, nextCursorHeaders(bookings, size), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUserBookings(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state) {
+        log.info("Получен GET-запрос /bookings/export?state={} с параметром userID: {}", state, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingService.exportUserBookings(userId, state));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state) {
+        log.info("Получен GET-запрос /bookings/owner/export?state={} с параметром userID: {}", state, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingService.exportOwnerBookings(userId, state));
+    }
+
+    private HttpHeaders nextCursorHeaders(List<BookingDto> bookings, Integer size) {
+        HttpHeaders headers = new HttpHeaders();
+        String nextCursor = KeysetCursor.next(bookings, size, o -> new KeysetCursor(o.getStart(), o.getId()));
+        if (nextCursor != null) {
+            headers.set(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return headers;
     }
 
 }
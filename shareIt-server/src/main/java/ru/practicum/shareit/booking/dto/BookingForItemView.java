@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Прошлое или следующее подтвержденное бронирование предмета.
+ */
+public interface BookingForItemView {
+
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    Boolean getIsLast();
+
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал одобренного бронирования для календаря занятости предмета.
+ */
+public interface BookingIntervalView {
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+}
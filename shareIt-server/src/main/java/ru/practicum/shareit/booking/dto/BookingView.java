@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований вместе с названием предмета, читается одним запросом без загрузки сущностей.
+ */
+public interface BookingView {
+
+    Long getId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    Status getStatus();
+
+    Long getBookerId();
+
+    Long getItemId();
+
+    String getItemName();
+
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.user.dto.UserIdDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Выгрузка броней в формате NDJSON: одна бронь в строке, в порядке START_TIME DESC, ID DESC, как в списках.
+ * Строки читаются однонаправленным курсором без загрузки сущностей, поэтому память не зависит от размера истории.
+ */
+@Slf4j
+@Component
+public class BookingExporter {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT = "SELECT B.id, B.start, B.end, B.status, B.booker.id, I.id, I.name " +
+            "FROM Booking B JOIN B.item I ";
+
+    private static final String ORDER = " ORDER BY B.start DESC, B.id DESC";
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter bookingWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookingExporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.bookingWriter = objectMapper.writerFor(BookingDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional
+    public void exportUserBookings(Long userId, BookingState state, OutputStream out) throws IOException {
+        export("WHERE B.booker.id = :userId", userId, state, out);
+    }
+
+    @Transactional
+    public void exportOwnerBookings(Long userId, BookingState state, OutputStream out) throws IOException {
+        export("WHERE I.owner.id = :userId", userId, state, out);
+    }
+
+    private void export(String where, Long userId, BookingState state, OutputStream out) throws IOException {
+        Query<Object[]> query = entityManager.unwrap(Session.class)
+                .createQuery(SELECT + where + stateCondition(state) + ORDER, Object[].class)
+                .setParameter("userId", userId)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true);
+        if (state == BookingState.CURRENT || state == BookingState.PAST || state == BookingState.FUTURE) {
+            query.setParameter("now", LocalDateTime.now());
+        } else if (state == BookingState.WAITING || state == BookingState.REJECTED) {
+            query.setParameter("status", Status.valueOf(state.name()));
+        }
+        long count = 0;
+        try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.next()) {
+                bookingWriter.writeValue(generator, toBookingDto(rows.get()));
+                generator.writeRaw('\n');
+                if (++count % FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Выгружено {} броней пользователя id: {} в состоянии {}", count, userId, state);
+    }
+
+    private static String stateCondition(BookingState state) {
+        switch (state) {
+            case CURRENT:
+                return " AND :now BETWEEN B.start AND B.end";
+            case PAST:
+                return " AND B.end <= :now";
+            case FUTURE:
+                return " AND B.start >= :now";
+            case WAITING:
+            case REJECTED:
+                return " AND B.status = :status";
+            default:
+                return "";
+        }
+    }
+
+    private static BookingDto toBookingDto(Object[] row) {
+        return new BookingDto((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2], (Status) row[3],
+                new UserIdDto((Long) row[4]), new ItemForBookingDto((Long) row[5], (String) row[6]));
+    }
+}
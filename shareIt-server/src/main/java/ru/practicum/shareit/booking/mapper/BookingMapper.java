@@ -2,8 +2,12 @@ package ru.practicum.shareit.booking.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemForBookingDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.dto.UserIdDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 public class BookingMapper {
@@ -13,6 +17,11 @@ public class BookingMapper {
                 booking.getStatus(), UserMapper.userIdDto(booking.getBooker()), ItemMapper.toItemForBookingDto(booking.getItem()));
     }
 
+    public static BookingDto toBookingDto(BookingView booking) {
+        return new BookingDto(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(),
+                new UserIdDto(booking.getBookerId()), new ItemForBookingDto(booking.getItemId(), booking.getItemName()));
+    }
+
     public static BookingForItemDto toBookingForItemDto(Booking booking) {
         if (booking == null) {
             return null;
@@ -22,4 +31,9 @@ public class BookingMapper {
         }
     }
 
+    public static BookingForItemDto toBookingForItemDto(BookingForItemView booking) {
+        return new BookingForItemDto(booking.getId(), booking.getBookerId(), booking.getStartTime(),
+                booking.getEndTime());
+    }
+
 }
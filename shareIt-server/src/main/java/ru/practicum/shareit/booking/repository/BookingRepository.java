@@ -2,70 +2,215 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    String BOOKING_VIEW = "SELECT B.ID AS id, B.START_TIME AS startTime, B.END_TIME AS endTime, " +
+            "B.STATUS AS status, B.BOOKER_ID AS bookerId, B.ITEM_ID AS itemId, I.NAME AS itemName " +
+            "FROM BOOKING B JOIN ITEMS I ON I.ID = B.ITEM_ID ";
+
     @Query(value = "select booker_id from booking where id = ?1", nativeQuery = true)
     Long getBookerId(Long bookingId);
 
-    @Query(value = "SELECT * FROM Booking where booker_id = ?1 ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findAllUsersBookings(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM Booking WHERE booker_id = ?1 " +
-            "AND (now() BETWEEN START_TIME AND END_TIME) ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findCurrentUserBookings(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM Booking WHERE BOOKER_ID = ?1 " +
-            "AND END_TIME <= now() ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findPastUserBookings(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE BOOKER_ID = ?1 " +
-            "AND START_TIME >= now() ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findFutureUserBookings(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE BOOKER_ID = ?1 " +
-            "AND STATUS = 'WAITING' ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findWaitingUserBookings(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE BOOKER_ID = ?1 " +
-            "AND STATUS = 'REJECTED' ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findRejectedUserBookings(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE ITEM_ID IN ?1 ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findAllOwnerBookings(List<Long> itemsIds, Pageable pageable);
-
-    @Query(value = "SELECT * FROM Booking WHERE ITEM_ID IN ?1 " +
-            "AND (now() BETWEEN START_TIME AND END_TIME) ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findCurrentOwnerBookings(List<Long> itemsIds, Pageable pageable);
-
-    @Query(value = "SELECT * FROM Booking WHERE ITEM_ID IN ?1 " +
-            "AND END_TIME <= now() ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findPastOwnerBookings(List<Long> itemsIds, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE ITEM_ID IN ?1 " +
-            "AND START_TIME >= now() ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findFutureOwnerBookings(List<Long> itemsIds, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE ITEM_ID IN ?1 " +
-            "AND STATUS = 'WAITING' ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findWaitingOwnerBookings(List<Long> itemsIds, Pageable pageable);
-
-    @Query(value = "SELECT * FROM BOOKING WHERE ITEM_ID IN ?1 " +
-            "AND STATUS = 'REJECTED' ORDER BY START_TIME DESC", nativeQuery = true)
-    List<Booking> findRejectedOwnerBookings(List<Long> itemsIds, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Booking B SET B.status = ?3 WHERE B.id = ?1 " +
+            "AND B.status <> ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "AND B.item.id IN (SELECT I.id FROM Item I WHERE I.owner.id = ?2)")
+    int updateStatusByOwner(Long bookingId, Long ownerId, Status status);
+
+    /**
+     * Одобряет аренду одним запросом: строка обновляется, только если пользователь владеет предметом, решение
+     * по аренде еще не принято и период не пересекается с другими одобренными бронированиями предмета.
+     */
+    @Modifying
+    @Query("UPDATE Booking B SET B.status = ru.practicum.shareit.booking.model.Status.APPROVED WHERE B.id = ?1 " +
+            "AND B.status <> ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "AND B.item.id IN (SELECT I.id FROM Item I WHERE I.owner.id = ?2) " +
+            "AND NOT EXISTS (SELECT P.id FROM Booking P WHERE P.item.id = B.item.id " +
+            "AND P.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "AND P.id <> B.id AND P.start < B.end AND P.end > B.start)")
+    int approveByOwner(Long bookingId, Long ownerId);
+
+    @Query("SELECT B FROM Booking B JOIN FETCH B.item WHERE B.id = ?1")
+    Optional<Booking> findByIdWithItem(Long bookingId);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findAllUsersBookings(Long userId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findAllUsersBookingsBefore(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND (now() BETWEEN B.START_TIME AND B.END_TIME) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findCurrentUserBookings(Long userId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND (now() BETWEEN B.START_TIME AND B.END_TIME) " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findCurrentUserBookingsBefore(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.END_TIME <= now() " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findPastUserBookings(Long userId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.END_TIME <= now() " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findPastUserBookingsBefore(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.START_TIME >= now() " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findFutureUserBookings(Long userId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.START_TIME >= now() " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findFutureUserBookingsBefore(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.STATUS = 'WAITING' " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findWaitingUserBookings(Long userId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.STATUS = 'WAITING' " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findWaitingUserBookingsBefore(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.STATUS = 'REJECTED' " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findRejectedUserBookings(Long userId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE B.BOOKER_ID = ?1 " +
+            "AND B.STATUS = 'REJECTED' " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findRejectedUserBookingsBefore(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findAllOwnerBookings(Long ownerId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findAllOwnerBookingsBefore(Long ownerId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND (now() BETWEEN B.START_TIME AND B.END_TIME) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findCurrentOwnerBookings(Long ownerId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND (now() BETWEEN B.START_TIME AND B.END_TIME) " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findCurrentOwnerBookingsBefore(Long ownerId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.END_TIME <= now() " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findPastOwnerBookings(Long ownerId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.END_TIME <= now() " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findPastOwnerBookingsBefore(Long ownerId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.START_TIME >= now() " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findFutureOwnerBookings(Long ownerId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.START_TIME >= now() " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findFutureOwnerBookingsBefore(Long ownerId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.STATUS = 'WAITING' " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findWaitingOwnerBookings(Long ownerId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.STATUS = 'WAITING' " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findWaitingOwnerBookingsBefore(Long ownerId, LocalDateTime startTime, Long id, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.STATUS = 'REJECTED' " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findRejectedOwnerBookings(Long ownerId, Pageable pageable);
+
+    @Query(value = BOOKING_VIEW + "WHERE I.OWNER_ID = ?1 " +
+            "AND B.STATUS = 'REJECTED' " +
+            "AND (B.START_TIME, B.ID) < (?2, ?3) " +
+            "ORDER BY B.START_TIME DESC, B.ID DESC", nativeQuery = true)
+    List<BookingView> findRejectedOwnerBookingsBefore(Long ownerId, LocalDateTime startTime, Long id,
+                                                        Pageable pageable);
 
     @Query(value = "SELECT count(*) FROM BOOKING WHERE ITEM_ID = ?1 " +
             "AND BOOKER_ID = ?2 AND END_TIME <= ?3", nativeQuery = true)
     Long bookingsBeforeNowCount(Long itemId, Long userId, LocalDateTime nowTime);
 
-    List<Booking> findAllByItemInAndStatusIsOrderByIdAsc(List<Item> items, Status status);
-
+    @Query(value = "SELECT ITEM_ID AS itemId, ID AS id, BOOKER_ID AS bookerId, START_TIME AS startTime, " +
+            "END_TIME AS endTime, IS_LAST AS isLast FROM (" +
+            "SELECT ID, ITEM_ID, BOOKER_ID, START_TIME, END_TIME, START_TIME < ?2 AS IS_LAST, " +
+            "ROW_NUMBER() OVER (PARTITION BY ITEM_ID, START_TIME < ?2 " +
+            "ORDER BY CASE WHEN START_TIME < ?2 THEN START_TIME END DESC, START_TIME ASC, ID ASC) AS RN " +
+            "FROM BOOKING WHERE ITEM_ID IN ?1 AND STATUS = 'APPROVED' AND START_TIME <> ?2) AS RANKED " +
+            "WHERE RN = 1", nativeQuery = true)
+    List<BookingForItemView> findLastAndNextBookings(List<Long> itemsIds, LocalDateTime nowTime);
+
+    /**
+     * Одобренные бронирования предмета, пересекающиеся с периодом [from, to), в порядке начала. Одобренные
+     * бронирования не пересекаются, поэтому до from может начаться не больше одного из них: оно ищется отдельно,
+     * и запрос читает только строки индекса внутри окна.
+     */
+    @Query(value = "SELECT ID AS id, ITEM_ID AS itemId, BOOKER_ID AS bookerId, START_TIME AS startTime, " +
+            "END_TIME AS endTime FROM (" +
+            "SELECT * FROM (SELECT ID, ITEM_ID, BOOKER_ID, START_TIME, END_TIME FROM BOOKING " +
+            "WHERE ITEM_ID = ?1 AND STATUS = 'APPROVED' AND START_TIME < ?2 " +
+            "ORDER BY START_TIME DESC, ID DESC LIMIT 1) AS PREVIOUS WHERE END_TIME > ?2 " +
+            "UNION ALL " +
+            "SELECT ID, ITEM_ID, BOOKER_ID, START_TIME, END_TIME FROM BOOKING " +
+            "WHERE ITEM_ID = ?1 AND STATUS = 'APPROVED' AND START_TIME >= ?2 AND START_TIME < ?3) AS IN_WINDOW " +
+            "ORDER BY START_TIME, ID", nativeQuery = true)
+    List<BookingIntervalView> findApprovedBookingIntervals(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Число одобренных бронирований предмета, кроме excludedBookingId, пересекающихся с периодом [start, end).
+     * Одобренные бронирования не пересекаются, поэтому достаточно сравнить период с последним из них,
+     * начавшимся раньше end: запрос читает одну строку индекса, сколько бы бронирований ни было у предмета.
+     */
+    @Query(value = "SELECT count(*) FROM (SELECT END_TIME FROM BOOKING " +
+            "WHERE ITEM_ID = ?1 AND STATUS = 'APPROVED' AND START_TIME < ?3 AND ID <> ?4 " +
+            "ORDER BY START_TIME DESC, ID DESC LIMIT 1) AS PREVIOUS WHERE END_TIME > ?2", nativeQuery = true)
+    Long countApprovedOverlaps(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId);
 
 }
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingIncomeInfo;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -18,5 +20,13 @@ public interface BookingService {
 
     List<BookingDto> findUserBookings(Long userId, BookingState state, Integer from, Integer size);
 
+    List<BookingDto> findUserBookings(Long userId, BookingState state, KeysetCursor cursor, Integer size);
+
     List<BookingDto> findOwnerBookings(Long userId, BookingState state, Integer from, Integer size);
+
+    List<BookingDto> findOwnerBookings(Long userId, BookingState state, KeysetCursor cursor, Integer size);
+
+    StreamingResponseBody exportUserBookings(Long userId, BookingState state);
+
+    StreamingResponseBody exportOwnerBookings(Long userId, BookingState state);
 }
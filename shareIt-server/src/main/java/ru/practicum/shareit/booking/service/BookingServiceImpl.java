@@ -2,10 +2,15 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingIncomeInfo;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -15,10 +20,13 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,21 +35,23 @@ import java.util.stream.Collectors;
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+
+    private static final Long NO_BOOKING = 0L;
+
     private final BookingRepository bookingRepository;
 
     private final ItemRepository itemRepository;
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+
+    private final BookingExporter bookingExporter;
 
     @Transactional
     public BookingDto createBooking(BookingIncomeInfo bookingIncomeInfo, Long userId) {
         log.info("Попытка создать новую заявку на аренду");
-        User user = userRepository.findById(userId).orElse(null);
-        Item item = itemRepository.findById(bookingIncomeInfo.getItemId()).orElse(null);
-        if (user == null) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
+        User user = userIdentityCache.getUserReference(userId);
+        Item item = itemRepository.findByIdForUpdate(bookingIncomeInfo.getItemId()).orElse(null);
         if (item == null) {
             log.info("Предмет отсутствует");
             throw new ObjectNotFoundException("Невозможно арендовать несуществующую вещь");
@@ -54,51 +64,100 @@ public class BookingServiceImpl implements BookingService {
             log.info("Пользователь пытается арендовать собственную вещь");
             throw new BookedByOwnerException("Пользователи не могут бронировать собственные вещи");
         }
+        if (hasApprovedOverlap(item.getId(), bookingIncomeInfo.getStart(), bookingIncomeInfo.getEnd(), NO_BOOKING)) {
+            log.info("Предмет {} уже забронирован на пересекающийся период", item.getId());
+            throw new BookingOverlapException("Предмет уже забронирован на этот период");
+        }
         Booking booking = new Booking();
         booking.setStart(bookingIncomeInfo.getStart());
         booking.setEnd(bookingIncomeInfo.getEnd());
         booking.setStatus(Status.WAITING);
         booking.setBooker(user);
         booking.setItem(item);
+        Booking savedBooking = bookingRepository.save(booking);
         log.info("Создана заявка на бронирование id: {} от пользователя id: {}", item.getId(), userId);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Transactional
     public BookingDto changeBookingStatus(Long bookingId, String isApproved, Long userId) {
         log.info("Попытка изменить статус заявки на аренду");
-        isUserExist(userId);
-        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        userIdentityCache.checkUserExists(userId);
+        Status status;
+        if (isApproved.equals("true")) {
+            status = Status.APPROVED;
+        } else if (isApproved.equals("false")) {
+            status = Status.REJECTED;
+        } else {
+            log.info("Некорректное значение параметра approved: {}", isApproved);
+            throw new IncorrectRequestParamsException("Параметр approved должен быть true или false");
+        }
+        // владение предметом, статус и пересечение с одобренными бронированиями проверяет сам UPDATE;
+        // одновременные одобрения пересекающихся периодов на PostgreSQL отсекает BOOKING_NO_OVERLAP_EXCL
+        if (updateStatusWithoutOverlap(bookingId, userId, status) == 0) {
+            throw statusChangeRejected(bookingId, userId, status);
+        }
+        Booking booking = bookingRepository.findByIdWithItem(bookingId).orElseThrow();
+        log.info("Изменен статус аренды для id: {}", bookingId);
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    /**
+     * Пересечения запрещены только между одобренными бронированиями: заявки WAITING на один и тот же период
+     * не мешают друг другу, владелец одобряет одну из них. Проверка идет по БД под блокировкой предмета.
+     */
+    private boolean hasApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+        return bookingRepository.countApprovedOverlaps(itemId, start, end, excludedBookingId) > 0;
+    }
+
+    private int updateStatusWithoutOverlap(Long bookingId, Long userId, Status status) {
+        try {
+            return status == Status.APPROVED
+                    ? bookingRepository.approveByOwner(bookingId, userId)
+                    : bookingRepository.updateStatusByOwner(bookingId, userId, status);
+        } catch (DataIntegrityViolationException e) {
+            throw translateOverlap(e);
+        }
+    }
+
+    /**
+     * Нарушение ограничения BOOKING_NO_OVERLAP_EXCL (PostgreSQL) означает, что период уже занят одобренным
+     * бронированием из параллельной транзакции, которое проверки в запросах еще не увидели.
+     */
+    private RuntimeException translateOverlap(DataIntegrityViolationException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        if (cause instanceof SQLException
+                && EXCLUSION_VIOLATION_STATE.equals(((SQLException) cause).getSQLState())) {
+            log.info("Период бронирования занят параллельной заявкой");
+            return new BookingOverlapException("Предмет уже забронирован на этот период");
+        }
+        return e;
+    }
+
+    /**
+     * Определяет, почему условное обновление статуса не затронуло ни одной строки.
+     */
+    private RuntimeException statusChangeRejected(Long bookingId, Long userId, Status status) {
+        Booking booking = bookingRepository.findByIdWithItem(bookingId).orElse(null);
         if (booking == null) {
             log.info("Аренда id: {} не создана", bookingId);
-            throw new ObjectNotFoundException("Нет аренды с таким номером");
-        }
-        var itemId = booking.getItem().getId();
-        if (!itemRepository.existsById(itemId)) {
-            log.info("Предмет отсутствует");
-            throw new ObjectNotFoundException("Такого предмета не существует");
+            return new ObjectNotFoundException("Нет аренды с таким номером");
         }
-        if (!itemRepository.getOwnerId(itemId).equals(userId)) {
+        if (!booking.getItem().getOwner().getId().equals(userId)) {
             log.info("Пользователь не является владельцем данного предмета");
-            throw new ObjectNotFoundException("Пользователь не явялется владельцем данного предмета");
-        }
-        if (isApproved.equals("false") && !booking.getStatus().equals(Status.APPROVED)) {
-            log.info("Изменен статус аренды для id: {}", bookingId);
-            booking.setStatus(Status.REJECTED);
-            return BookingMapper.toBookingDto(bookingRepository.save(booking));
-        } else if (isApproved.equals("true") && !booking.getStatus().equals(Status.APPROVED)) {
-            log.info("Изменен статус аренды для id: {}", bookingId);
-            booking.setStatus(Status.APPROVED);
-            return BookingMapper.toBookingDto(bookingRepository.save(booking));
-        } else {
-            throw new WrongStatusSetException("Решение по данной аренде уже принято");
+            return new ObjectNotFoundException("Пользователь не явялется владельцем данного предмета");
         }
-
+        if (status == Status.APPROVED && booking.getStatus() != Status.APPROVED) {
+            log.info("Период аренды id: {} уже занят другим бронированием", bookingId);
+            return new BookingOverlapException("Предмет уже забронирован на этот период");
+        }
+        log.info("Решение по аренде id: {} уже принято", bookingId);
+        return new WrongStatusSetException("Решение по данной аренде уже принято");
     }
 
     @Transactional
     public String deleteBooking(Long bookingId, Long userId) {
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         bookingExist(bookingId);
         var itemId = bookingRepository.getReferenceById(bookingId).getItem().getId();
         log.info("Пользователь id: {} пытается удалить заявку на аренду " +
@@ -118,8 +177,8 @@ public class BookingServiceImpl implements BookingService {
 
     public BookingDto findById(Long bookingId, Long userId) {
         log.info("Попытка получить информацию об аренде id: {}", bookingId);
-        isUserExist(userId);
-        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        userIdentityCache.checkUserExists(userId);
+        Booking booking = bookingRepository.findByIdWithItem(bookingId).orElse(null);
         if (booking == null) {
             log.info("Аренда id: {} не создана", bookingId);
             throw new ObjectNotFoundException("Нет аренды с таким номером");
@@ -137,113 +196,143 @@ public class BookingServiceImpl implements BookingService {
 
     public List<BookingDto> findUserBookings(Long userId, BookingState state, Integer from, Integer size) {
         log.info("Попытка получить информацию о всех созданных бронях пользователя userId: {}", userId);
-        isUserExist(userId);
-        Pageable pageRequest = PageRequest.of(from, size);
+        userIdentityCache.checkUserExists(userId);
+        Pageable pageRequest = state == BookingState.ALL ? PageRequest.of((from / size), size)
+                : PageRequest.of(from, size);
+        return findUserBookings(userId, state, null, pageRequest);
+    }
+
+    public List<BookingDto> findUserBookings(Long userId, BookingState state, KeysetCursor cursor, Integer size) {
+        log.info("Попытка получить информацию о созданных бронях пользователя userId: {} после курсора", userId);
+        userIdentityCache.checkUserExists(userId);
+        return findUserBookings(userId, state, cursor, PageRequest.of(0, size));
+    }
+
+    public List<BookingDto> findOwnerBookings(Long userId, BookingState state, Integer from, Integer size) {
+        log.info("Попытка получить информацию о всех бронях для предметов пользователя userId: {}", userId);
+        userIdentityCache.checkUserExists(userId);
+        return findOwnerBookings(userId, state, null, PageRequest.of(from, size));
+    }
+
+    public List<BookingDto> findOwnerBookings(Long userId, BookingState state, KeysetCursor cursor, Integer size) {
+        log.info("Попытка получить информацию о бронях для предметов пользователя userId: {} после курсора",
+                userId);
+        userIdentityCache.checkUserExists(userId);
+        return findOwnerBookings(userId, state, cursor, PageRequest.of(0, size));
+    }
+
+    public StreamingResponseBody exportUserBookings(Long userId, BookingState state) {
+        log.info("Попытка выгрузить все брони пользователя userId: {} в состоянии {}", userId, state);
+        userIdentityCache.checkUserExists(userId);
+        return out -> bookingExporter.exportUserBookings(userId, state, out);
+    }
+
+    public StreamingResponseBody exportOwnerBookings(Long userId, BookingState state) {
+        log.info("Попытка выгрузить все брони для предметов пользователя userId: {} в состоянии {}", userId, state);
+        userIdentityCache.checkUserExists(userId);
+        return out -> bookingExporter.exportOwnerBookings(userId, state, out);
+    }
+
+    private List<BookingDto> findUserBookings(Long userId, BookingState state, KeysetCursor cursor,
+                                              Pageable pageRequest) {
+        List<BookingView> bookings;
         switch (state) {
             case CURRENT:
+                bookings = cursor == null ? bookingRepository.findCurrentUserBookings(userId, pageRequest)
+                        : bookingRepository.findCurrentUserBookingsBefore(userId, cursor.getTime(), cursor.getId(),
+                        pageRequest);
                 log.info("Получена информация о всех текущих " +
                         "бронированиях пользователя id: {}", userId);
-                return bookingRepository.findCurrentUserBookings(userId, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case PAST:
+                bookings = cursor == null ? bookingRepository.findPastUserBookings(userId, pageRequest)
+                        : bookingRepository.findPastUserBookingsBefore(userId, cursor.getTime(), cursor.getId(),
+                        pageRequest);
                 log.info("Получена информация о всех прошедших " +
                         "бронированиях пользователя id: {}", userId);
-                return bookingRepository.findPastUserBookings(userId, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case FUTURE:
+                bookings = cursor == null ? bookingRepository.findFutureUserBookings(userId, pageRequest)
+                        : bookingRepository.findFutureUserBookingsBefore(userId, cursor.getTime(), cursor.getId(),
+                        pageRequest);
                 log.info("Получена информация о всех будущих " +
                         "бронированиях пользователя id: {}", userId);
-                return bookingRepository.findFutureUserBookings(userId, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case WAITING:
+                bookings = cursor == null ? bookingRepository.findWaitingUserBookings(userId, pageRequest)
+                        : bookingRepository.findWaitingUserBookingsBefore(userId, cursor.getTime(), cursor.getId(),
+                        pageRequest);
                 log.info("Получена информация о всех бронированиях, " +
                         "ожидающих решения, пользователя id: {}", userId);
-                return bookingRepository.findWaitingUserBookings(userId, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case REJECTED:
+                bookings = cursor == null ? bookingRepository.findRejectedUserBookings(userId, pageRequest)
+                        : bookingRepository.findRejectedUserBookingsBefore(userId, cursor.getTime(), cursor.getId(),
+                        pageRequest);
                 log.info("Получена информация о всех отклоненных " +
                         "бронированиях пользователя id: {}", userId);
-                return bookingRepository.findRejectedUserBookings(userId, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             default:
+                bookings = cursor == null ? bookingRepository.findAllUsersBookings(userId, pageRequest)
+                        : bookingRepository.findAllUsersBookingsBefore(userId, cursor.getTime(), cursor.getId(),
+                        pageRequest);
                 log.info("Получена информация о всех бронированиях " +
                         "пользователя id: {}", userId);
-                Pageable fixedPageValue = PageRequest.of((from / size), size);
-                return bookingRepository.findAllUsersBookings(userId, fixedPageValue)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
         }
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
     }
 
-    public List<BookingDto> findOwnerBookings(Long userId, BookingState state, Integer from, Integer size) {
-        log.info("Попытка получить информацию о всех бронях для предметов пользователя userId: {}", userId);
-        isUserExist(userId);
-        Pageable pageRequest = PageRequest.of(from, size);
-        List<Long> itemsIds = itemRepository.getItemsIdsOfOwner(userId);
+    private List<BookingDto> findOwnerBookings(Long userId, BookingState state, KeysetCursor cursor,
+                                               Pageable pageRequest) {
+        List<BookingView> bookings;
         switch (state) {
             case CURRENT:
+                bookings = cursor == null ? bookingRepository.findCurrentOwnerBookings(userId, pageRequest)
+                        : bookingRepository.findCurrentOwnerBookingsBefore(userId, cursor.getTime(),
+                        cursor.getId(), pageRequest);
                 log.info("Получена информация о всех текущих бронированиях " +
                         "для предметов пользователя id: {}", userId);
-                return bookingRepository.findCurrentOwnerBookings(itemsIds, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case PAST:
+                bookings = cursor == null ? bookingRepository.findPastOwnerBookings(userId, pageRequest)
+                        : bookingRepository.findPastOwnerBookingsBefore(userId, cursor.getTime(),
+                        cursor.getId(), pageRequest);
                 log.info("Получена информация о всех прошедших бронированиях " +
                         "для предметов пользователя id: {}", userId);
-                return bookingRepository.findPastOwnerBookings(itemsIds, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case FUTURE:
+                bookings = cursor == null ? bookingRepository.findFutureOwnerBookings(userId, pageRequest)
+                        : bookingRepository.findFutureOwnerBookingsBefore(userId, cursor.getTime(),
+                        cursor.getId(), pageRequest);
                 log.info("Получена информация о всех будущих бронированиях " +
                         "для предметов пользователя id: {}", userId);
-                return bookingRepository.findFutureOwnerBookings(itemsIds, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                break;
             case WAITING:
+                bookings = cursor == null ? bookingRepository.findWaitingOwnerBookings(userId, pageRequest)
+                        : bookingRepository.findWaitingOwnerBookingsBefore(userId, cursor.getTime(),
+                        cursor.getId(), pageRequest);
                 log.info("Получена информация о всех бронированиях, ожидающих решения," +
                         " для предметов пользователя id: {}", userId);
-                return bookingRepository.findWaitingOwnerBookings(itemsIds, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .filter(o -> o.getStatus() == Status.WAITING)
-                        .collect(Collectors.toList());
+                break;
             case REJECTED:
+                bookings = cursor == null ? bookingRepository.findRejectedOwnerBookings(userId, pageRequest)
+                        : bookingRepository.findRejectedOwnerBookingsBefore(userId, cursor.getTime(),
+                        cursor.getId(), pageRequest);
                 log.info("Получена информация о всех отклоненных бронированиях " +
                         "для предметов пользователя id: {}", userId);
-                return bookingRepository.findRejectedOwnerBookings(itemsIds, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .filter(o -> o.getStatus() == Status.REJECTED)
-                        .collect(Collectors.toList());
+                break;
             default:
+                bookings = cursor == null ? bookingRepository.findAllOwnerBookings(userId, pageRequest)
+                        : bookingRepository.findAllOwnerBookingsBefore(userId, cursor.getTime(),
+                        cursor.getId(), pageRequest);
                 log.info("Получена информация о всех бронированиях для " +
                         "предметов пользователя id: {}", userId);
-                return bookingRepository.findAllOwnerBookings(itemsIds, pageRequest)
-                        .stream()
-                        .map(BookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
-        }
-    }
-
-    private void isUserExist(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
         }
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
     }
 
     private void bookingExist(Long bookingId) {
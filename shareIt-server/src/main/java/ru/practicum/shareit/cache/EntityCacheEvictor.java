@@ -0,0 +1,41 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Сброс регионов кэша второго уровня для строк, которые база меняет в обход Hibernate,
+ * например каскадным удалением ON DELETE CASCADE. При выключенном кэше ничего не делает.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Сбрасывает регионы после коммита, чтобы параллельное чтение до коммита не вернуло в кэш старую строку.
+     */
+    public void evictAfterCommit(Class<?>... entityClasses) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(entityClasses);
+                }
+            });
+        } else {
+            evict(entityClasses);
+        }
+    }
+
+    private void evict(Class<?>[] entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            entityManagerFactory.getCache().evict(entityClass);
+        }
+    }
+}
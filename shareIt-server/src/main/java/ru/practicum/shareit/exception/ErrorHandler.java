@@ -27,4 +27,14 @@ public class ErrorHandler {
         response.sendError(HttpStatus.NOT_FOUND.value());
     }
 
+    @ExceptionHandler(BookingOverlapException.class)
+    public void handleConflict(HttpServletResponse response, Exception e) throws IOException {
+        response.sendError(HttpStatus.CONFLICT.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyExportsException.class)
+    public void handleServiceUnavailable(HttpServletResponse response, Exception e) throws IOException {
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+    }
+
 }
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.export;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.exception.TooManyExportsException;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Асинхронная часть MVC на сервере нужна только выгрузкам: тело StreamingResponseBody пишется в отдельном пуле
+ * из shareit.export.max-concurrent потоков. Выгрузка сверх лимита получает 503 еще до начала асинхронной
+ * обработки, поэтому выгрузки никогда не занимают все соединения Hikari и не ждут их в очереди.
+ * Место освобождается по завершении асинхронного запроса: после ответа, таймаута или обрыва соединения клиентом,
+ * даже если тело так и не начало писаться. Долгий shareit.export.timeout ставится только этим запросам.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportAsyncConfig implements WebMvcConfigurer {
+
+    private final ExportProperties properties;
+
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Bean
+    public ThreadPoolTaskExecutor exportTaskExecutor() {
+        DataSource pool = dataSource.getIfAvailable();
+        if (pool instanceof HikariDataSource
+                && properties.getMaxConcurrent() >= ((HikariDataSource) pool).getMaximumPoolSize()) {
+            throw new IllegalStateException("shareit.export.max-concurrent должен быть меньше размера пула соединений "
+                    + ((HikariDataSource) pool).getMaximumPoolSize());
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrent());
+        executor.setMaxPoolSize(properties.getMaxConcurrent());
+        executor.setThreadNamePrefix("export-");
+        log.info("Выгрузки: до {} одновременно, таймаут {}", properties.getMaxConcurrent(), properties.getTimeout());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportTaskExecutor());
+        configurer.registerCallableInterceptors(new ExportLimitInterceptor());
+    }
+
+    private class ExportLimitInterceptor implements CallableProcessingInterceptor {
+
+        private final Semaphore permits = new Semaphore(properties.getMaxConcurrent());
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (!permits.tryAcquire()) {
+                throw new TooManyExportsException("Одновременно выполняется максимум выгрузок: "
+                        + properties.getMaxConcurrent());
+            }
+            if (request instanceof AsyncWebRequest) {
+                ((AsyncWebRequest) request).setTimeout(properties.getTimeout().toMillis());
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            permits.release();
+        }
+    }
+}
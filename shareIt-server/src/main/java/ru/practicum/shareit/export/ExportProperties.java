@@ -0,0 +1,20 @@
+package ru.practicum.shareit.export;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Ограничения потоковых выгрузок: каждая выгрузка держит соединение с БД, пока не допишет ответ.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.export")
+public class ExportProperties {
+
+    private int maxConcurrent = 4;
+
+    private Duration timeout = Duration.ofMinutes(30);
+}
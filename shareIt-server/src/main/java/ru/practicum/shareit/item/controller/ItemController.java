@@ -2,12 +2,19 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.SqlStatementBudget;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -17,6 +24,7 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    @SqlStatementBudget(3)
     @PostMapping
     public ResponseEntity createItem(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                      @RequestBody ItemDto itemDto) {
@@ -24,6 +32,7 @@ public class ItemController {
         return new ResponseEntity(itemService.createItem(itemDto, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(4)
     @PatchMapping("{itemId}")
     public ResponseEntity updateItem(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                               @RequestBody ItemDto itemDto,
@@ -32,6 +41,21 @@ public class ItemController {
         return new ResponseEntity(itemService.updateItem(itemDto, itemId, userId), HttpStatus.OK);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity createItems(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                      @RequestBody List<ItemDto> itemDtos) {
+        log.info("Получен POST-запрос /items/batch с {} предметами и параметром userID:{}", itemDtos.size(), userId);
+        return new ResponseEntity(itemService.createItems(itemDtos, userId), HttpStatus.OK);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity updateItems(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                      @RequestBody List<ItemDto> itemDtos) {
+        log.info("Получен PATCH-запрос /items/batch с {} предметами и параметром userId:{}", itemDtos.size(), userId);
+        return new ResponseEntity(itemService.updateItems(itemDtos, userId), HttpStatus.OK);
+    }
+
+    @SqlStatementBudget(6)
     @DeleteMapping("{itemId}")
     public ResponseEntity deleteItem(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                              @PathVariable(value = "itemId") Long itemId) {
@@ -39,6 +63,7 @@ public class ItemController {
         return new ResponseEntity(new String[]{itemService.deleteItem(itemId, userId)}, HttpStatus.OK);
     }
 
+    @SqlStatementBudget(6)
     @PostMapping("{itemId}/comment")
     public ResponseEntity addComment(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                  @RequestBody CommentDto commentDto,
@@ -47,6 +72,7 @@ public class ItemController {
         return new ResponseEntity(itemService.addComment(commentDto, itemId, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(7)
     @PatchMapping("{itemId}/comment/{commentId}")
     public ResponseEntity updateComment(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                     @RequestBody CommentDto commentDto,
@@ -55,6 +81,7 @@ public class ItemController {
         return new ResponseEntity(itemService.updateComment(commentDto, itemId, commentId, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(7)
     @DeleteMapping("{itemId}/comment/{commentId}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity deleteComment(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
@@ -63,6 +90,7 @@ public class ItemController {
         return new ResponseEntity(new String[]{itemService.deleteComment(commentId, itemId, userId)}, HttpStatus.OK);
     }
 
+    @SqlStatementBudget(4)
     @GetMapping("{itemId}")
     public ResponseEntity findItemById(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                 @PathVariable(value = "itemId") Long itemId) {
@@ -70,6 +98,7 @@ public class ItemController {
         return new ResponseEntity(itemService.findItemById(userId, itemId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(4)
     @GetMapping
     public ResponseEntity findUserAllItems(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                           @RequestParam(value = "from", defaultValue = "0") Integer from,
@@ -78,6 +107,38 @@ public class ItemController {
         return new ResponseEntity(itemService.findUserAllItems(userId, from, size), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(3)
+    @GetMapping("{itemId}/availability")
+    public ResponseEntity findItemAvailability(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                               @PathVariable(value = "itemId") Long itemId,
+                                               @RequestParam(value = "from", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(value = "to", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получен GET-запрос /items/{}/availability?from={}&to={} от пользователя id: {}", itemId, from, to,
+                userId);
+        return new ResponseEntity(itemService.findItemAvailability(itemId, userId, from, to), HttpStatus.OK);
+    }
+
+    @SqlStatementBudget(3)
+    @GetMapping("{itemId}/comments")
+    public ResponseEntity findItemComments(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                           @PathVariable(value = "itemId") Long itemId,
+                                           @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                           @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /items/{}/comments?size={}&cursor={} от пользователя id: {}", itemId, size,
+                cursor, userId);
+        List<CommentDto> comments = itemService.findItemComments(itemId, userId,
+                cursor == null ? null : KeysetCursor.decodeTimed(cursor), size);
+        HttpHeaders headers = new HttpHeaders();
+        String nextCursor = KeysetCursor.next(comments, size, o -> new KeysetCursor(o.getCreated(), o.getId()));
+        if (nextCursor != null) {
+            headers.set(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return new ResponseEntity(comments, headers, HttpStatus.OK);
+    }
+
+    @SqlStatementBudget(0)
     @GetMapping("/search")
     public ResponseEntity searchItemByNameAndDescription(@RequestParam(value = "text") String text,
                                                         @RequestParam(value = "from", defaultValue = "0") Integer from,
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Один из последних комментариев предмета и общее число его комментариев.
+ */
+public interface CommentForItemView extends CommentView {
+
+    Long getTotal();
+
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Занятые и свободные периоды предмета внутри запрошенного окна [from, to).
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ItemAvailabilityDto {
+
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private List<AvailabilityIntervalDto> busy;
+
+    private List<AvailabilityIntervalDto> free;
+}
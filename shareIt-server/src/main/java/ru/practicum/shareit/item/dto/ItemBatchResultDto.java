@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат обработки одного элемента пакетного запроса: позиция в теле запроса, HTTP-статус элемента,
+ * сохраненный предмет при успехе или текст ошибки.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ItemBatchResultDto {
+
+    private Integer index;
+
+    private Integer status;
+
+    private ItemDto item;
+
+    private String error;
+}
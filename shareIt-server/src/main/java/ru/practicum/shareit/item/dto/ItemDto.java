@@ -21,6 +21,8 @@ public class ItemDto {
 
     private Long requestId;
 
+    private Long commentCount;
+
     private List<CommentDto> comments;
 
     public ItemDto(Long id, String name, String description, Boolean available) {
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
 public class CommentMapper {
@@ -9,4 +10,8 @@ public class CommentMapper {
         return new CommentDto(comment.getId(), comment.getText(), comment.getAuthor().getName(),
                 comment.getCreated());
     }
+
+    public static CommentDto toCommentDto(CommentView comment) {
+        return new CommentDto(comment.getId(), comment.getText(), comment.getAuthorName(), comment.getCreated());
+    }
 }
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -13,6 +16,30 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query(value = "select author_id from comments where id = ?1", nativeQuery = true)
     Long getCommentAuthorId(Long commentId);
 
-    List<Comment> findAllByItemInOrderByCreatedAsc(List<Item> items);
+    /**
+     * Последние limit комментариев каждого предмета и их общее число. Номера строк и число комментариев
+     * считаются только по индексу COMMENTS_ITEM_CREATED_IDX, строки комментариев и их авторы читаются
+     * лишь для отобранных limit записей.
+     */
+    @Query(value = "SELECT C.ID AS id, C.ITEM_ID AS itemId, C.TEXT AS text, U.NAME AS authorName, " +
+            "C.CREATED AS created, T.TOTAL AS total FROM (" +
+            "SELECT ID, ROW_NUMBER() OVER (PARTITION BY ITEM_ID ORDER BY CREATED DESC, ID DESC) AS RN " +
+            "FROM COMMENTS WHERE ITEM_ID IN ?1) AS R " +
+            "JOIN COMMENTS C ON C.ID = R.ID " +
+            "JOIN (SELECT ITEM_ID, COUNT(*) AS TOTAL FROM COMMENTS WHERE ITEM_ID IN ?1 GROUP BY ITEM_ID) AS T " +
+            "ON T.ITEM_ID = C.ITEM_ID " +
+            "JOIN USERS U ON U.ID = C.AUTHOR_ID WHERE R.RN <= ?2 " +
+            "ORDER BY C.ITEM_ID, C.CREATED, C.ID", nativeQuery = true)
+    List<CommentForItemView> findRecentComments(List<Long> itemsIds, int limit);
+
+    @Query(value = "SELECT C.ID AS id, C.ITEM_ID AS itemId, C.TEXT AS text, U.NAME AS authorName, " +
+            "C.CREATED AS created FROM COMMENTS C JOIN USERS U ON U.ID = C.AUTHOR_ID WHERE C.ITEM_ID = ?1 " +
+            "ORDER BY C.CREATED DESC, C.ID DESC", nativeQuery = true)
+    List<CommentView> findItemComments(Long itemId, Pageable pageable);
+
+    @Query(value = "SELECT C.ID AS id, C.ITEM_ID AS itemId, C.TEXT AS text, U.NAME AS authorName, " +
+            "C.CREATED AS created FROM COMMENTS C JOIN USERS U ON U.ID = C.AUTHOR_ID WHERE C.ITEM_ID = ?1 " +
+            "AND (C.CREATED, C.ID) < (?2, ?3) ORDER BY C.CREATED DESC, C.ID DESC", nativeQuery = true)
+    List<CommentView> findItemCommentsBefore(Long itemId, LocalDateTime created, Long id, Pageable pageable);
 
 }
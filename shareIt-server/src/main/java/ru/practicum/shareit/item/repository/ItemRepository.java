@@ -2,26 +2,34 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwner_IdOrderByIdAsc(Long userId, Pageable pageable);
 
-    List<Item> findAllByRequestInOrderByIdAsc(List<ItemRequest> requests);
+    /**
+     * Предметы-ответы на запросы сразу в виде DTO: сущности Item не создаются и не попадают в контекст персистентности.
+     */
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemForRequestDto(I.id, I.name, I.description, I.available, " +
+            "I.request.id, I.owner.id) FROM Item I WHERE I.request.id IN ?1 ORDER BY I.id")
+    List<ItemForRequestDto> findItemsForRequests(Collection<Long> requestIds);
 
-    @Query(value = "select * from ITEMS where lower(NAME) ilike lower('%' || ?1 || '%')" +
-            "or lower(DESCRIPTION) ilike lower('%' || ?1 || '%')", nativeQuery = true)
-    List<Item> searchByText(String text, Pageable pageable);
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT I FROM Item I WHERE I.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
 
     @Query(value = "select owner_id from items where id = ?1", nativeQuery = true)
     Long getOwnerId(Long itemId);
 
-    @Query(value = "SELECT ID FROM items WHERE owner_id = ?1", nativeQuery = true)
-    List<Long> getItemsIdsOfOwner(Long userId);
-
 }
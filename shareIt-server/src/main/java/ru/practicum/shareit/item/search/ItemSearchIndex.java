@@ -0,0 +1,292 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный триграммный индекс по названию и описанию предметов.
+ * Поиск, фильтр по доступности и пагинация выполняются в памяти без обращения к базе данных.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<Long, IndexedItem> items = new TreeMap<>();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        log.info("Построение поискового индекса предметов");
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            postings.clear();
+            long lastId = 0L;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Item item : batch) {
+                    put(toIndexedItem(item));
+                    lastId = item.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс построен, проиндексировано предметов: {}", items.size());
+    }
+
+    public void index(Item item) {
+        IndexedItem indexedItem = toIndexedItem(item);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeById(indexedItem.id);
+                put(indexedItem);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Индексирует предметы пакетного запроса одной операцией после коммита.
+     */
+    public void indexAll(Collection<Item> itemsToIndex) {
+        List<IndexedItem> indexedItems = new ArrayList<>(itemsToIndex.size());
+        for (Item item : itemsToIndex) {
+            indexedItems.add(toIndexedItem(item));
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (IndexedItem indexedItem : indexedItems) {
+                    removeById(indexedItem.id);
+                    put(indexedItem);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeById(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeOwner(Long ownerId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Long> ownerItems = new ArrayList<>();
+                for (IndexedItem item : items.values()) {
+                    if (ownerId.equals(item.ownerId)) {
+                        ownerItems.add(item.id);
+                    }
+                }
+                ownerItems.forEach(this::removeById);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<ItemDto> search(String text, int offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                return scan(query, offset, limit);
+            }
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                PostingList postingList = postings.get(gram);
+                if (postingList == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(postingList);
+            }
+            lists.sort((first, second) -> Integer.compare(first.size(), second.size()));
+            PostingList smallest = lists.get(0);
+            List<ItemDto> result = new ArrayList<>();
+            int skipped = 0;
+            for (int i = 0; i < smallest.size() && result.size() < limit; i++) {
+                long id = smallest.get(i);
+                if (!containsInAll(lists, id)) {
+                    continue;
+                }
+                IndexedItem item = items.get(id);
+                if (!item.available || !item.matches(query)) {
+                    continue;
+                }
+                if (skipped++ < offset) {
+                    continue;
+                }
+                result.add(item.toItemDto());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ItemDto> scan(String query, int offset, int limit) {
+        List<ItemDto> result = new ArrayList<>();
+        int skipped = 0;
+        for (IndexedItem item : items.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!item.available || !item.matches(query)) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            result.add(item.toItemDto());
+        }
+        return result;
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(IndexedItem item) {
+        items.put(item.id, item);
+        for (String gram : item.allGrams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(item.id);
+        }
+    }
+
+    private void removeById(Long itemId) {
+        IndexedItem item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        for (String gram : item.allGrams()) {
+            PostingList postingList = postings.get(gram);
+            if (postingList != null) {
+                postingList.remove(itemId);
+                if (postingList.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static IndexedItem toIndexedItem(Item item) {
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()),
+                item.getOwner() != null ? item.getOwner().getId() : null,
+                item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class IndexedItem {
+
+        private final Long id;
+
+        private final String name;
+
+        private final String description;
+
+        private final boolean available;
+
+        private final Long ownerId;
+
+        private final Long requestId;
+
+        private Set<String> allGrams() {
+            Set<String> result = grams(name.toLowerCase(Locale.ROOT));
+            result.addAll(grams(description.toLowerCase(Locale.ROOT)));
+            return result;
+        }
+
+        private boolean matches(String query) {
+            return containsIgnoreCase(name, query) || containsIgnoreCase(description, query);
+        }
+
+        private ItemDto toItemDto() {
+            ItemDto itemDto = new ItemDto(id, name, description, available);
+            itemDto.setRequestId(requestId);
+            return itemDto;
+        }
+
+        private static boolean containsIgnoreCase(String text, String query) {
+            for (int i = 0; i + query.length() <= text.length(); i++) {
+                if (text.regionMatches(true, i, query, 0, query.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
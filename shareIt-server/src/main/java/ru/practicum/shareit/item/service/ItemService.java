@@ -1,8 +1,12 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -11,6 +15,10 @@ public interface ItemService {
 
     ItemDto updateItem(ItemDto itemDto, Long itemId, Long userId);
 
+    List<ItemBatchResultDto> createItems(List<ItemDto> itemDtos, Long userId);
+
+    List<ItemBatchResultDto> updateItems(List<ItemDto> itemDtos, Long userId);
+
     String deleteItem(Long itemId, Long userId);
 
     CommentDto addComment(CommentDto commentDto, Long itemId, Long userId);
@@ -21,7 +29,11 @@ public interface ItemService {
 
     ItemDto findItemById(Long itemId, Long userId);
 
+    List<CommentDto> findItemComments(Long itemId, Long userId, KeysetCursor cursor, Integer size);
+
     List<ItemDto> findUserAllItems(Long userId, Integer from, Integer size);
 
     List<ItemDto> searchItemByNameAndDescription(String text, Integer from, Integer size);
+
+    ItemAvailabilityDto findItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
 }
@@ -4,42 +4,67 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
-import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ItemServiceImpl implements ItemService {
 
+    private static final Duration DEFAULT_AVAILABILITY_PERIOD = Duration.ofDays(30);
+
+    private static final Duration MAX_AVAILABILITY_PERIOD = Duration.ofDays(366);
+
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private static final int RECENT_COMMENTS_LIMIT = 10;
+
     private final ItemRepository itemRepository;
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     private final BookingRepository bookingRepository;
 
@@ -47,27 +72,27 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemSearchIndex itemSearchIndex;
+
     @Transactional
     public ItemDto createItem(ItemDto itemDto, Long userId) {
         log.info("Попытка добавить новый предмет");
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
+        User user = userIdentityCache.getUserReference(userId);
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(user);
         if (itemDto.getRequestId() != null) {
             item.setRequest(itemRequestRepository.getReferenceById(itemDto.getRequestId()));
         }
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
         log.info("Пользователь id: {} добавил новый предмет id: {}", userId, itemDto);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Transactional
     public ItemDto updateItem(ItemDto itemDto, Long itemId, Long userId) {
         log.info("Попытка обновить информацию о предмете id: {}", itemId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         Item item = itemRepository.findById(itemId).orElse(null);
         if (item == null) {
             log.info("Предмет с id:{} не найден", itemId);
@@ -77,30 +102,114 @@ public class ItemServiceImpl implements ItemService {
             log.info("Пользователь пытается обновить информацию о чужом предмете");
             throw new OwnerIdAndUserIdException("Обновлять информацию о предмете могут только владельцы");
         }
-        if (itemDto.getName() != null) {
-            item.setName(itemDto.getName());
+        applyChanges(item, itemDto);
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        log.info("Информация о предмете id: {} обновлена", itemId);
+        return ItemMapper.toItemDto(savedItem);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemBatchResultDto> createItems(List<ItemDto> itemDtos, Long userId) {
+        log.info("Попытка добавить {} предметов одним запросом", itemDtos.size());
+        checkBatchSize(itemDtos);
+        User user = userIdentityCache.getUserReference(userId);
+        Set<Long> requestIds = itemDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap()
+                : itemRequestRepository.findAllById(requestIds).stream().collect(toMap(ItemRequest::getId, identity()));
+        ItemBatchResultDto[] results = new ItemBatchResultDto[itemDtos.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            String error = validateNewItem(itemDto);
+            if (error != null) {
+                results[i] = new ItemBatchResultDto(i, HttpStatus.BAD_REQUEST.value(), null, error);
+                continue;
+            }
+            Item item = ItemMapper.toItem(itemDto);
+            item.setOwner(user);
+            if (itemDto.getRequestId() != null) {
+                ItemRequest request = requests.get(itemDto.getRequestId());
+                if (request == null) {
+                    results[i] = new ItemBatchResultDto(i, HttpStatus.NOT_FOUND.value(), null,
+                            "Запрос id: " + itemDto.getRequestId() + " не найден");
+                    continue;
+                }
+                item.setRequest(request);
+            }
+            positions.add(i);
+            items.add(item);
         }
-        if (itemDto.getDescription() != null) {
-            item.setDescription(itemDto.getDescription());
+        List<Item> savedItems = itemRepository.saveAll(items);
+        for (int i = 0; i < savedItems.size(); i++) {
+            int position = positions.get(i);
+            results[position] = new ItemBatchResultDto(position, HttpStatus.OK.value(),
+                    ItemMapper.toItemDto(savedItems.get(i)), null);
         }
-        if (itemDto.getAvailable() != null) {
-            item.setAvailable(itemDto.getAvailable());
+        itemSearchIndex.indexAll(savedItems);
+        log.info("Пользователь id: {} добавил {} из {} предметов", userId, savedItems.size(), itemDtos.size());
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemBatchResultDto> updateItems(List<ItemDto> itemDtos, Long userId) {
+        log.info("Попытка обновить {} предметов одним запросом", itemDtos.size());
+        checkBatchSize(itemDtos);
+        userIdentityCache.checkUserExists(userId);
+        Set<Long> itemIds = itemDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Collections.emptyMap()
+                : itemRepository.findAllById(itemIds).stream().collect(toMap(Item::getId, identity()));
+        List<ItemBatchResultDto> results = new ArrayList<>(itemDtos.size());
+        Set<Item> updatedItems = new LinkedHashSet<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            if (itemDto == null || itemDto.getId() == null) {
+                results.add(new ItemBatchResultDto(i, HttpStatus.BAD_REQUEST.value(), null, "Не указан id предмета"));
+                continue;
+            }
+            Item item = items.get(itemDto.getId());
+            if (item == null) {
+                results.add(new ItemBatchResultDto(i, HttpStatus.NOT_FOUND.value(), null, "Такого предмета нет"));
+                continue;
+            }
+            if (!item.getOwner().getId().equals(userId)) {
+                results.add(new ItemBatchResultDto(i, HttpStatus.NOT_FOUND.value(), null,
+                        "Обновлять информацию о предмете могут только владельцы"));
+                continue;
+            }
+            applyChanges(item, itemDto);
+            updatedItems.add(item);
+            results.add(new ItemBatchResultDto(i, HttpStatus.OK.value(), ItemMapper.toItemDto(item), null));
         }
-        log.info("Информация о предмете id: {} обновлена", itemId);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        itemRepository.saveAll(updatedItems);
+        itemSearchIndex.indexAll(updatedItems);
+        log.info("Пользователь id: {} обновил {} из {} предметов", userId, updatedItems.size(), itemDtos.size());
+        return results;
     }
 
     @Override
     @Transactional
     public String deleteItem(Long itemId, Long userId) {
         log.info("Пользователь id: {} пытается удалить предмет id: {}", itemId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         isItemExist(itemId);
         if (!itemRepository.getOwnerId(itemId).equals(userId)) {
             log.info("Пользователь пытается удалить чужой предмет");
             throw new OwnerIdAndUserIdException("Удалять предметы могут только владельцы");
         }
         itemRepository.deleteById(itemId);
+        itemSearchIndex.remove(itemId);
         log.info("Предмет id: {} удален", itemId);
         return "Предмет удален";
     }
@@ -108,12 +217,8 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public CommentDto addComment(CommentDto commentDto, Long itemId, Long userId) {
         log.info("Пользователь id: {} добавляет комментарий для предмета id: {}", userId, itemId);
-        User user = userRepository.findById(userId).orElse(null);
+        User user = userIdentityCache.getUserReference(userId);
         Item item = itemRepository.findById(itemId).orElse(null);
-        if (user == null) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
         if (item == null) {
             log.info("Предмет с id:{} не найден", itemId);
             throw new ObjectNotFoundException("Такого предмета нет");
@@ -137,7 +242,7 @@ public class ItemServiceImpl implements ItemService {
     public CommentDto updateComment(CommentDto commentDto, Long itemId, Long commentId, Long userId) {
         log.info("Пользователь id: {} пытается изменить комментарий id: {} для " +
                 "предмета id: {}", userId, commentId, itemId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         isItemExist(itemId);
         Comment comment = commentRepository.findById(commentId).orElse(null);
         if (comment == null) {
@@ -160,7 +265,7 @@ public class ItemServiceImpl implements ItemService {
     public String deleteComment(Long commentId, Long itemId, Long userId) {
         log.info("Пользователь id: {} пытается удалить комментарий id: {} для " +
                 "предмета id: {}", userId, commentId, itemId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         isItemExist(itemId);
         isCommentExist(commentId);
         if (!commentRepository.getCommentAuthorId(commentId).equals(userId)) {
@@ -175,7 +280,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public ItemDto findItemById(Long userId, Long itemId) {
         log.info("Попытка получить информацию о предмете id:{}", itemId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         Item item = itemRepository.findById(itemId).orElse(null);
         if (item == null) {
             log.info("Предмет с id:{} не найден", itemId);
@@ -192,10 +297,24 @@ public class ItemServiceImpl implements ItemService {
         return result.get(0);
     }
 
+    @Override
+    public List<CommentDto> findItemComments(Long itemId, Long userId, KeysetCursor cursor, Integer size) {
+        log.info("Попытка получить комментарии к предмету id: {}", itemId);
+        userIdentityCache.checkUserExists(userId);
+        isItemExist(itemId);
+        Pageable pageRequest = PageRequest.of(0, size);
+        List<CommentView> comments = cursor == null ? commentRepository.findItemComments(itemId, pageRequest)
+                : commentRepository.findItemCommentsBefore(itemId, cursor.getTime(), cursor.getId(), pageRequest);
+        log.info("Получено {} комментариев к предмету id: {}", comments.size(), itemId);
+        return comments.stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(toList());
+    }
+
     @Transactional
     public List<ItemDto> findUserAllItems(Long userId, Integer from, Integer size) {
         log.info("Попытка получить список предметов пользователя {}", userId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         Pageable pageRequest = PageRequest.of(from, size);
         List<Item> items = itemRepository.findAllByOwner_IdOrderByIdAsc(userId, pageRequest);
         List<ItemDto> result = items.stream().map(ItemMapper::toItemDto).collect(toList());
@@ -207,66 +326,119 @@ public class ItemServiceImpl implements ItemService {
 
     private void getCommentsForItem(List<Item> items, List<ItemDto> result) {
         if (!items.isEmpty()) {
-            Map<Item, List<Comment>> commentMap = commentRepository
-                    .findAllByItemInOrderByCreatedAsc(items)
+            List<Long> itemsIds = result.stream().map(ItemDto::getId).collect(toList());
+            Map<Long, List<CommentForItemView>> commentMap = commentRepository
+                    .findRecentComments(itemsIds, RECENT_COMMENTS_LIMIT)
                     .stream()
-                    .collect(groupingBy(Comment::getItem, toList()));
-            for (int i = 0; i < result.size(); i++) {
-                if (!commentMap.containsKey(items.get(i))) {
-                    result.get(i).setComments(Collections.emptyList());
-                } else {
-                    result.get(i).setComments(commentMap.get(items.get(i)).stream()
-                            .map(CommentMapper::toCommentDto)
-                            .collect(toList()));
-                }
+                    .collect(groupingBy(CommentForItemView::getItemId, toList()));
+            for (ItemDto itemDto : result) {
+                List<CommentForItemView> comments = commentMap.getOrDefault(itemDto.getId(),
+                        Collections.emptyList());
+                itemDto.setCommentCount(comments.isEmpty() ? 0L : comments.get(0).getTotal());
+                itemDto.setComments(comments.stream()
+                        .map(CommentMapper::toCommentDto)
+                        .collect(toList()));
             }
         }
     }
 
-
     private void getBookingsForItem(List<Item> items, List<ItemDto> result) {
         if (!items.isEmpty()) {
-            Map<Item, List<Booking>> bookingMap = bookingRepository
-                    .findAllByItemInAndStatusIsOrderByIdAsc(items,
-                            Status.APPROVED).stream()
-                    .collect(groupingBy(Booking::getItem, toList()));
-            for (int i = 0; i < result.size(); i++) {
-                if (bookingMap.containsKey(items.get(i))) {
-                    result.get(i).setLastBooking(bookingMap.get(items.get(i)).stream()
-                            .sorted(comparing(Booking::getStart).reversed())
-                            .filter(o -> o.getStart().isBefore(LocalDateTime.now()))
-                            .map(BookingMapper::toBookingForItemDto)
-                            .findFirst().orElse(null));
-                    result.get(i).setNextBooking(bookingMap.get(items.get(i)).stream()
-                            .sorted(comparing(Booking::getStart))
-                            .filter(o -> o.getStart().isAfter(LocalDateTime.now()))
-                            .map(BookingMapper::toBookingForItemDto)
-                            .findFirst().orElse(null));
+            Map<Long, ItemDto> itemDtoMap = result.stream()
+                    .collect(toMap(ItemDto::getId, identity(), (first, second) -> first));
+            List<BookingForItemView> bookings = bookingRepository
+                    .findLastAndNextBookings(new ArrayList<>(itemDtoMap.keySet()), LocalDateTime.now());
+            for (BookingForItemView booking : bookings) {
+                ItemDto itemDto = itemDtoMap.get(booking.getItemId());
+                if (Boolean.TRUE.equals(booking.getIsLast())) {
+                    itemDto.setLastBooking(BookingMapper.toBookingForItemDto(booking));
+                } else {
+                    itemDto.setNextBooking(BookingMapper.toBookingForItemDto(booking));
                 }
             }
         }
     }
 
-    @Transactional
     public List<ItemDto> searchItemByNameAndDescription(String text, Integer from, Integer size) {
         log.info("Попытка получить список предметов, доступных для аренды, по запросу {}", text);
         if (text == null || text.isBlank()) {
             log.info("В поисковой строке пусто, получен пустой список предметов");
             return Collections.emptyList();
         }
-        Pageable pageRequest = PageRequest.of(from, size);
         log.info("Получен список предметов, доступных для аренды, по ключевому слову {}", text);
-        return itemRepository.searchByText(text, pageRequest).stream()
-                .map(ItemMapper::toItemDto)
-                .filter(o -> o.getAvailable() == true)
-                .collect(toList());
+        return itemSearchIndex.search(text, from * size, size);
     }
 
-    private void isUserExist(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
+    /**
+     * Строит календарь занятости по одобренным бронированиям из БД. Запрос читает индекс бронирований предмета
+     * только внутри окна, поэтому время ответа зависит от числа бронирований в окне, а не от всей истории предмета.
+     */
+    public ItemAvailabilityDto findItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        log.info("Пользователь id: {} запрашивает занятость предмета id: {} с {} по {}", userId, itemId, from, to);
+        userIdentityCache.checkUserExists(userId);
+        LocalDateTime windowStart = from != null ? from : LocalDateTime.now();
+        LocalDateTime windowEnd = to != null ? to : windowStart.plus(DEFAULT_AVAILABILITY_PERIOD);
+        if (!windowStart.isBefore(windowEnd)
+                || Duration.between(windowStart, windowEnd).compareTo(MAX_AVAILABILITY_PERIOD) > 0) {
+            log.info("Некорректно указан период занятости: с {} по {}", windowStart, windowEnd);
+            throw new IncorrectRequestParamsException("Некорректно указан период");
+        }
+        isItemExist(itemId);
+        List<AvailabilityIntervalDto> busy = new ArrayList<>();
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = windowStart;
+        for (BookingIntervalView interval : bookingRepository.findApprovedBookingIntervals(itemId, windowStart,
+                windowEnd)) {
+            LocalDateTime start = interval.getStartTime().isAfter(windowStart) ? interval.getStartTime() : windowStart;
+            LocalDateTime end = interval.getEndTime().isBefore(windowEnd) ? interval.getEndTime() : windowEnd;
+            if (freeFrom.isBefore(start)) {
+                free.add(new AvailabilityIntervalDto(freeFrom, start));
+            }
+            busy.add(new AvailabilityIntervalDto(start, end));
+            if (end.isAfter(freeFrom)) {
+                freeFrom = end;
+            }
+        }
+        if (freeFrom.isBefore(windowEnd)) {
+            free.add(new AvailabilityIntervalDto(freeFrom, windowEnd));
+        }
+        log.info("Получена занятость предмета id: {}, занятых периодов: {}", itemId, busy.size());
+        return new ItemAvailabilityDto(itemId, windowStart, windowEnd, busy, free);
+    }
+
+    private void applyChanges(Item item, ItemDto itemDto) {
+        if (itemDto.getName() != null) {
+            item.setName(itemDto.getName());
+        }
+        if (itemDto.getDescription() != null) {
+            item.setDescription(itemDto.getDescription());
+        }
+        if (itemDto.getAvailable() != null) {
+            item.setAvailable(itemDto.getAvailable());
+        }
+    }
+
+    private void checkBatchSize(List<ItemDto> itemDtos) {
+        if (itemDtos == null || itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            log.info("Некорректный размер пакета предметов");
+            throw new IncorrectRequestParamsException("Пакет должен содержать от 1 до " + MAX_BATCH_SIZE + " предметов");
+        }
+    }
+
+    private String validateNewItem(ItemDto itemDto) {
+        if (itemDto == null) {
+            return "Предмет не может быть пустым";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isEmpty()) {
+            return "Название не может быть пустым";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isEmpty()) {
+            return "Описание не может быть пустым";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Статус предмета не может быть пустым";
         }
+        return null;
     }
 
     private void isItemExist(Long itemId) {
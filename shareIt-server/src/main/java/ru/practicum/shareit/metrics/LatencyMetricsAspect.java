@@ -0,0 +1,103 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingState;
+
+/**
+ * Таймеры публичных методов сервисов (shareit.service) и запросов репозиториев бронирований и предметов
+ * (shareit.repository) с тегами имени метода, исключения и состояния бронирований.
+ * Запросы репозитория внутри вызова сервиса со списком бронирований получают его BookingState,
+ * остальные вызовы помечаются state=none.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LatencyMetricsAspect {
+
+    static final String SERVICE_TIMER = "shareit.service";
+
+    static final String REPOSITORY_TIMER = "shareit.repository";
+
+    private static final String NONE = "none";
+
+    private static final ThreadLocal<BookingState> CURRENT_STATE = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit.user.service.UserService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.service.ItemService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.booking.service.BookingService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.service.ItemRequestService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        BookingState state = findState(joinPoint.getArgs());
+        if (state == null) {
+            return time(SERVICE_TIMER, "service", joinPoint.getTarget().getClass().getSimpleName(),
+                    joinPoint, CURRENT_STATE.get());
+        }
+        BookingState outerState = CURRENT_STATE.get();
+        CURRENT_STATE.set(state);
+        try {
+            return time(SERVICE_TIMER, "service", joinPoint.getTarget().getClass().getSimpleName(),
+                    joinPoint, state);
+        } finally {
+            if (outerState == null) {
+                CURRENT_STATE.remove();
+            } else {
+                CURRENT_STATE.set(outerState);
+            }
+        }
+    }
+
+    @Around("target(ru.practicum.shareit.booking.repository.BookingRepository)"
+            + " || target(ru.practicum.shareit.item.repository.ItemRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, "repository", repositoryName(joinPoint.getTarget()), joinPoint,
+                CURRENT_STATE.get());
+    }
+
+    private Object time(String timerName, String componentTag, String component, ProceedingJoinPoint joinPoint,
+                        BookingState state) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag(componentTag, component)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", state == null ? NONE : state.name())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static BookingState findState(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return (BookingState) arg;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Spring Data репозиторий - прокси, поэтому имя берется из реализуемого им интерфейса приложения.
+     */
+    private static String repositoryName(Object repository) {
+        for (Class<?> type : repository.getClass().getInterfaces()) {
+            if (type.getName().startsWith("ru.practicum.shareit.")) {
+                return type.getSimpleName();
+            }
+        }
+        return repository.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Максимальное число SQL запросов, которое эндпоинт может выполнить за один HTTP запрос.
+ * Превышение логируется SqlStatementBudgetInterceptor и валит тесты с SqlStatementBudgetExtension.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+
+    int value();
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Считает SQL запросы каждого HTTP запроса и сравнивает их число с @SqlStatementBudget обработчика.
+ * Последние превышения хранятся для проверки в тестах.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final int MAX_STORED_VIOLATIONS = 100;
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int count = sqlStatementCounter.count();
+        sqlStatementCounter.stop();
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        SqlStatementBudget budget = ((HandlerMethod) handler).getMethodAnnotation(SqlStatementBudget.class);
+        if (budget != null && count > budget.value()) {
+            String violation = String.format("%s %s: выполнено SQL запросов %d при бюджете %d",
+                    request.getMethod(), request.getRequestURI(), count, budget.value());
+            log.warn(violation);
+            if (violations.size() < MAX_STORED_VIOLATIONS) {
+                violations.add(violation);
+            }
+        }
+    }
+
+    /**
+     * Асинхронный ответ дописывается в другом потоке, счетчик потока запроса больше не нужен.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        sqlStatementCounter.stop();
+    }
+
+    /**
+     * Возвращает накопленные превышения бюджета и очищает список.
+     */
+    public List<String> drainViolations() {
+        List<String> result = new ArrayList<>();
+        String violation;
+        while ((violation = violations.poll()) != null) {
+            result.add(violation);
+        }
+        return result;
+    }
+}
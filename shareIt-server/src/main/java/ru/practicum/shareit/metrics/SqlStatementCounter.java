@@ -0,0 +1,34 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL запросы, подготовленные Hibernate в текущем потоке между start() и stop().
+ * Вне этого интервала запросы не учитываются.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public int count() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public void stop() {
+        COUNT.remove();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Счетчик SQL запросов и перехватчик бюджета объявлены здесь вместе с регистрацией перехватчика,
+ * поэтому срез @WebMvcTest, подхватывающий WebMvcConfigurer, получает их целиком.
+ */
+@Configuration
+public class SqlStatementMetricsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor() {
+        return new SqlStatementBudgetInterceptor(sqlStatementCounter());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementBudgetInterceptor());
+    }
+}
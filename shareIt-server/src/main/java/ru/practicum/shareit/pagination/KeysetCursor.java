@@ -0,0 +1,72 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.IncorrectRequestParamsException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Позиция последней записи страницы для постраничного вывода по ключу (time, id).
+ * Передается клиенту в заголовке X-Next-Cursor в виде непрозрачной строки.
+ */
+@Getter
+public class KeysetCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime time;
+
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime time, Long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public String encode() {
+        String value = time == null ? String.valueOf(id) : time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return new KeysetCursor(null, Long.parseLong(value));
+            }
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IncorrectRequestParamsException("Некорректно указан курсор страницы");
+        }
+    }
+
+    /**
+     * Курсор выдачи, упорядоченной по времени: курсор без времени такую выдачу продолжить не может.
+     */
+    public static KeysetCursor decodeTimed(String cursor) {
+        KeysetCursor keysetCursor = decode(cursor);
+        if (keysetCursor.getTime() == null) {
+            throw new IncorrectRequestParamsException("Некорректно указан курсор страницы");
+        }
+        return keysetCursor;
+    }
+
+    /**
+     * Курсор следующей страницы или null, если страница заполнена не полностью и продолжения нет.
+     */
+    public static <T> String next(List<T> page, int size, Function<T, KeysetCursor> cursorOf) {
+        if (page.isEmpty() || page.size() < size) {
+            return null;
+        }
+        return cursorOf.apply(page.get(page.size() - 1)).encode();
+    }
+}
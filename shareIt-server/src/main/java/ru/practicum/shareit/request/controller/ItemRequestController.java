@@ -2,12 +2,18 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.metrics.SqlStatementBudget;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping(path = "/requests")
@@ -16,6 +22,7 @@ public class ItemRequestController {
 
     private final ItemRequestService itemRequestService;
 
+    @SqlStatementBudget(2)
     @PostMapping
     public ResponseEntity createItemRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                             @RequestBody ItemRequestDto itemRequestDto) {
@@ -24,6 +31,7 @@ public class ItemRequestController {
 
     }
 
+    @SqlStatementBudget(4)
     @PatchMapping("{requestId}")
     public ResponseEntity updateItemRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                             @RequestBody ItemRequestDto itemRequestDto,
@@ -34,6 +42,7 @@ public class ItemRequestController {
                 HttpStatus.OK);
     }
 
+    @SqlStatementBudget(6)
     @DeleteMapping("{requestId}")
     public ResponseEntity deleteRequest(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                 @PathVariable(value = "requestId") Long requestId) {
@@ -41,6 +50,7 @@ public class ItemRequestController {
         return new ResponseEntity(itemRequestService.deleteItemRequest(requestId, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(3)
     @GetMapping("{requestId}")
     public ResponseEntity findRequestById(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                           @PathVariable(value = "requestId") Long requestId) {
@@ -48,19 +58,30 @@ public class ItemRequestController {
         return new ResponseEntity(itemRequestService.findRequestById(requestId, userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(3)
     @GetMapping
     public ResponseEntity findAllUserRequests(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
         log.info("Получен GET-запрос /requests с параметром userId: {}", userId);
         return new ResponseEntity(itemRequestService.findAllUserRequests(userId), HttpStatus.OK);
     }
 
+    @SqlStatementBudget(3)
     @GetMapping("/all")
     public ResponseEntity findAllRequests(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                                                 @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                                @RequestParam(value = "size", defaultValue = "10") Integer size) {
-        log.info("Получен GET-запрос /requests/all c параметрами from: {} и size: {} и " +
-                "параметром userId: {}", from, size, userId);
-        return new ResponseEntity(itemRequestService.findAllRequests(userId, from, size), HttpStatus.OK);
+                                                @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /requests/all c параметрами from: {}, size: {}, cursor: {} и " +
+                "параметром userId: {}", from, size, cursor, userId);
+        Slice<ItemRequestDto> requests = cursor == null ? itemRequestService.findAllRequests(userId, from, size)
+                : itemRequestService.findAllRequests(userId, KeysetCursor.decode(cursor), size);
+        HttpHeaders headers = new HttpHeaders();
+        if (requests.hasNext()) {
+            List<ItemRequestDto> content = requests.getContent();
+            headers.set(KeysetCursor.NEXT_CURSOR_HEADER,
+                    new KeysetCursor(null, content.get(content.size() - 1).getId()).encode());
+        }
+        return new ResponseEntity(requests.getContent(), headers, HttpStatus.OK);
     }
 
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -16,7 +18,9 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findAllUserRequests(Long userId);
 
-    List<ItemRequestDto> findAllRequests(Long userId, Integer from, Integer size);
+    Slice<ItemRequestDto> findAllRequests(Long userId, Integer from, Integer size);
+
+    Slice<ItemRequestDto> findAllRequests(Long userId, KeysetCursor cursor, Integer size);
 
 
 
@@ -7,24 +7,25 @@ import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.OwnerIdAndUserIdException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 @Slf4j
@@ -32,7 +33,7 @@ import static java.util.stream.Collectors.toList;
 @Service
 public class ItemRequestServiceImpl implements ItemRequestService {
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     private final ItemRequestRepository itemRequestRepository;
 
@@ -41,11 +42,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId) {
         log.info("Попытка добавить новый запрос");
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
+        User user = userIdentityCache.getUserReference(userId);
         ItemRequest itemRequest = RequestMapper.toItemRequest(itemRequestDto);
         itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
         itemRequest.setRequestor(user);
@@ -56,7 +53,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     public ItemRequestDto updateItemRequest(ItemRequestDto itemRequestDto, Long userId, Long requestId) {
         log.info("Попытка изменить существующий запрос id: {}", requestId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElse(null);
         if (itemRequest == null) {
             log.info("Попытка обновить несуществующий запрос");
@@ -74,7 +71,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     public String deleteItemRequest(Long requestId, Long userId) {
         log.info("Попытка удалить запрос id: {}", requestId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         isRequestExist(requestId);
         if (!itemRequestRepository.getRequestorId(requestId).equals(userId)) {
             log.info("Пользователь пытается удалить чужой запрос");
@@ -88,7 +85,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     public ItemRequestDto findRequestById(Long requestId, Long userId) {
         log.info("Пользователь id: {} пытаетеся получить информацию о запросе id: {}", userId, requestId);
-        isUserExist(userId);
+        userIdentityCache.checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElse(null);
         if (itemRequest == null) {
             log.info("Запроса с id: {} не существует", requestId);
@@ -103,11 +100,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     public List<ItemRequestDto> findAllUserRequests(Long userId) {
         log.info("Пользователь id: {} пытается получить информацию о своих запросах");
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
+        User user = userIdentityCache.getUserReference(userId);
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorOrderByIdAsc(user);
         List<ItemRequestDto> result = requests.stream().map(RequestMapper::toItemRequestDto).collect(toList());
         getItemsForRequests(requests, result);
@@ -115,47 +108,56 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return result;
     }
 
-    public List<ItemRequestDto> findAllRequests(Long userId, Integer from, Integer size) {
+    public Slice<ItemRequestDto> findAllRequests(Long userId, Integer from, Integer size) {
         log.info("Попытка получить {} станицу из {} записей о запросах от пользователя id: {}", from, size, userId);
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
+        User user = userIdentityCache.getUserReference(userId);
         Pageable pageRequest = PageRequest.of(from, size);
-        List<ItemRequest> requests = itemRequestRepository
-                .findAllByRequestorIsNotOrderByIdAsc(user, pageRequest).getContent();
-        List<ItemRequestDto> result = requests.stream().map(RequestMapper::toItemRequestDto).collect(toList());
-        getItemsForRequests(requests, result);
+        Slice<ItemRequest> requests = itemRequestRepository.findAllByRequestorIsNotOrderByIdAsc(user, pageRequest);
         log.info("Получен список всех запросов");
-        return result;
+        return toItemRequestDtoSlice(requests);
+    }
+
+    public Slice<ItemRequestDto> findAllRequests(Long userId, KeysetCursor cursor, Integer size) {
+        log.info("Попытка получить {} записей о запросах после id: {} от пользователя id: {}", size, cursor.getId(),
+                userId);
+        User user = userIdentityCache.getUserReference(userId);
+        Slice<ItemRequest> requests = itemRequestRepository
+                .findAllByRequestorIsNotAndIdGreaterThanOrderByIdAsc(user, cursor.getId(), PageRequest.of(0, size));
+        log.info("Получен список запросов после id: {}", cursor.getId());
+        return toItemRequestDtoSlice(requests);
     }
 
+    /**
+     * Slice не считает общее число строк: репозиторий читает size + 1 запись, лишняя только сообщает,
+     * есть ли следующая страница.
+     */
+    private Slice<ItemRequestDto> toItemRequestDtoSlice(Slice<ItemRequest> requests) {
+        List<ItemRequestDto> result = requests.stream().map(RequestMapper::toItemRequestDto).collect(toList());
+        getItemsForRequests(requests.getContent(), result);
+        return new SliceImpl<>(result, requests.getPageable(), requests.hasNext());
+    }
+
+    /**
+     * Запросы приходят упорядоченными по id, поэтому позиция запроса для предмета ищется двоичным поиском
+     * по массиву long без упаковки ключей.
+     */
     private void getItemsForRequests(List<ItemRequest> requests, List<ItemRequestDto> result) {
         if (!requests.isEmpty()) {
-            Map<ItemRequest, List<Item>> itemsByRequests = itemRepository
-                    .findAllByRequestInOrderByIdAsc(requests)
-                    .stream()
-                    .collect(groupingBy(Item::getRequest, toList()));
+            long[] requestIds = new long[requests.size()];
+            List<Long> ids = new ArrayList<>(requests.size());
             for (int i = 0; i < requests.size(); i++) {
-                if (!itemsByRequests.containsKey(requests.get(i))) {
-                    result.get(i).setItems(Collections.emptyList());
-                } else {
-                    result.get(i).setItems(itemsByRequests.get(requests.get(i)).stream()
-                            .map(ItemMapper::toItemForRequestDto)
-                            .collect(toList()));
+                requestIds[i] = requests.get(i).getId();
+                ids.add(requests.get(i).getId());
+            }
+            for (ItemForRequestDto item : itemRepository.findItemsForRequests(ids)) {
+                int index = Arrays.binarySearch(requestIds, item.getRequestId());
+                if (index >= 0) {
+                    result.get(index).getItems().add(item);
                 }
             }
         }
     }
 
-    private void isUserExist(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
-    }
-
     private void isRequestExist(Long requestId) {
         if (!itemRequestRepository.existsById(requestId)) {
             log.info("Попытка обновить несуществующий запрос");
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * Кэш существования пользователей для проверки заголовка X-Sharer-User-Id.
+ * Записи живут не дольше shareit.user-cache.expire-after-write и сбрасываются при изменении пользователя.
+ */
+@Slf4j
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<Long, Boolean> existence;
+
+    public UserIdentityCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                             @Value("${shareit.user-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${shareit.user-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.existence = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, existence, "users");
+    }
+
+    public void checkUserExists(Long userId) {
+        if (!existence.get(userId, userRepository::existsById)) {
+            log.info("Пользователь не зарегестрирован");
+            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
+        }
+    }
+
+    /**
+     * Ссылка на существующего пользователя без отдельного SELECT, достаточная для связей и поиска по владельцу.
+     */
+    public User getUserReference(Long userId) {
+        checkUserExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    existence.invalidate(userId);
+                }
+            });
+        } else {
+            existence.invalidate(userId);
+        }
+    }
+}
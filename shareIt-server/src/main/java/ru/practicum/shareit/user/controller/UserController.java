@@ -2,12 +2,18 @@ package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping(path = "/users")
@@ -46,8 +52,25 @@ public class UserController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity findAllUsers() {
-        log.info("Получен GET-запрос /users");
-        return new ResponseEntity(userService.findAllUsers(), HttpStatus.OK);
+    public ResponseEntity findAllUsers(@RequestParam(value = "from", defaultValue = "0") Integer from,
+                                       @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                       @RequestParam(value = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /users?from={}&size={}&cursor={}", from, size, cursor);
+        List<UserDto> users = cursor == null ? userService.findAllUsers(from, size)
+                : userService.findAllUsers(KeysetCursor.decode(cursor), size);
+        HttpHeaders headers = new HttpHeaders();
+        String nextCursor = KeysetCursor.next(users, size, o -> new KeysetCursor(null, o.getId()));
+        if (nextCursor != null) {
+            headers.set(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return new ResponseEntity(users, headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Получен GET-запрос /users/export");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.exportUsers());
     }
 }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Выгрузка всех пользователей в формате NDJSON в порядке id. Строки читаются однонаправленным курсором
+ * без загрузки сущностей, поэтому память не зависит от числа пользователей.
+ */
+@Slf4j
+@Component
+public class UserExporter {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT = "SELECT U.id, U.email, U.name FROM User U ORDER BY U.id";
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter userWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserExporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.userWriter = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional
+    public void exportUsers(OutputStream out) throws IOException {
+        Query<Object[]> query = entityManager.unwrap(Session.class)
+                .createQuery(SELECT, Object[].class)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true);
+        long count = 0;
+        try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.next()) {
+                Object[] row = rows.get();
+                userWriter.writeValue(generator, new UserDto((Long) row[0], (String) row[1], (String) row[2]));
+                generator.writeRaw('\n');
+                if (++count % FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Выгружено {} пользователей", count);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -14,5 +16,9 @@ public interface UserService {
 
     String deleteUser(Long userId);
 
-    List<UserDto> findAllUsers();
+    List<UserDto> findAllUsers(Integer from, Integer size);
+
+    List<UserDto> findAllUsers(KeysetCursor cursor, Integer size);
+
+    StreamingResponseBody exportUsers();
 }
@@ -2,9 +2,19 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.export.UserExporter;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -20,10 +30,20 @@ public class UserServiceImp implements UserService {
 
     private final UserRepository userRepository;
 
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final UserIdentityCache userIdentityCache;
+
+    private final UserExporter userExporter;
+
+    private final EntityCacheEvictor entityCacheEvictor;
+
     @Transactional
     public UserDto createUser(UserDto userDto) {
+        User user = userRepository.save(UserMapper.toUser(userDto));
+        userIdentityCache.invalidate(user.getId());
         log.info("Добавлен новый пользователь: {}", userDto.getName());
-        return UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
+        return UserMapper.toUserDto(user);
     }
 
     @Transactional
@@ -40,6 +60,7 @@ public class UserServiceImp implements UserService {
         if (userDto.getEmail() != null) {
             user.setEmail(userDto.getEmail());
         }
+        userIdentityCache.invalidate(userId);
         log.info("Обновлена информация о пользователе id:{}", userId);
         return UserMapper.toUserDto(userRepository.save(user));
     }
@@ -47,8 +68,11 @@ public class UserServiceImp implements UserService {
     @Transactional
     public String deleteUser(Long userId) {
         log.info("Попытка удалить пользователя");
-        userExist(userId);
+        userIdentityCache.checkUserExists(userId);
         userRepository.deleteById(userId);
+        userIdentityCache.invalidate(userId);
+        entityCacheEvictor.evictAfterCommit(Item.class, ItemRequest.class);
+        itemSearchIndex.removeOwner(userId);
         log.info("Пользователь {} удален", userId);
         return "Пользователь " + userId + " удален";
     }
@@ -65,19 +89,23 @@ public class UserServiceImp implements UserService {
         return UserMapper.toUserDto(user);
     }
 
-    @Transactional
-    public List<UserDto> findAllUsers() {
-        log.info("Попытка получить информацию о всех пользователях");
-        return userRepository.findAll().stream()
+    public List<UserDto> findAllUsers(Integer from, Integer size) {
+        log.info("Попытка получить {} пользователей начиная с {}", size, from);
+        return userRepository.findAllByOrderByIdAsc(OffsetPageRequest.of(from, size)).stream()
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
-    public void userExist(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            log.info("Пользователь не зарегестрирован");
-            throw new ObjectNotFoundException("Пользователь не зарегестрирован");
-        }
+    public List<UserDto> findAllUsers(KeysetCursor cursor, Integer size) {
+        log.info("Попытка получить {} пользователей после id: {}", size, cursor.getId());
+        return userRepository.findAllByIdGreaterThanOrderByIdAsc(cursor.getId(), PageRequest.of(0, size)).stream()
+                .map(UserMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    public StreamingResponseBody exportUsers() {
+        log.info("Попытка выгрузить всех пользователей");
+        return userExporter::exportUsers;
     }
 
 }
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS booking;
-DROP TABLE IF EXISTS items;
-DROP TABLE IF EXISTS requests;
-DROP TABLE IF EXISTS users;
-
 CREATE TABLE IF NOT EXISTS users
     (
         id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -60,4 +54,3 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT COMMENTS_ON_AUTHOR_FK FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT COMMENT_ON_ITEM_FK FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
 );
-
@@ -0,0 +1,15 @@
+CREATE INDEX ITEMS_OWNER_IDX ON items (owner_id, id);
+
+CREATE INDEX ITEMS_REQUEST_IDX ON items (request_id);
+
+CREATE INDEX REQUESTS_REQUESTOR_IDX ON requests (requestor_id, id);
+
+CREATE INDEX COMMENTS_ITEM_IDX ON comments (item_id, created);
+
+CREATE INDEX BOOKING_BOOKER_START_IDX ON booking (booker_id, start_time DESC, id DESC);
+
+CREATE INDEX BOOKING_BOOKER_STATUS_START_IDX ON booking (booker_id, status, start_time DESC, id DESC);
+
+CREATE INDEX BOOKING_ITEM_START_IDX ON booking (item_id, start_time DESC, id DESC);
+
+CREATE INDEX BOOKING_ITEM_BOOKER_END_IDX ON booking (item_id, booker_id, end_time);
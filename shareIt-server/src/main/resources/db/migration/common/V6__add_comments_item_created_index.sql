@@ -0,0 +1,3 @@
+DROP INDEX COMMENTS_ITEM_IDX;
+
+CREATE INDEX COMMENTS_ITEM_CREATED_IDX ON comments (item_id, created DESC, id DESC);
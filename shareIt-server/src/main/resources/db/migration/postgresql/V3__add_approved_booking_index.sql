@@ -0,0 +1 @@
+CREATE INDEX BOOKING_ITEM_APPROVED_START_IDX ON booking (item_id, start_time, id) WHERE status = 'APPROVED';
@@ -0,0 +1,24 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Миграция не меняет данные: пересекающиеся заявки (WAITING и APPROVED в любом сочетании) нужно разрешить
+-- до ее запуска, иначе она прерывается со списком конфликтующих пар.
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('item_id=%s: booking %s (%s) / booking %s (%s)',
+                             A.item_id, A.id, A.status, B.id, B.status), '; ' ORDER BY A.item_id, A.id, B.id)
+    INTO conflicts
+    FROM booking A
+    JOIN booking B ON B.item_id = A.item_id AND B.id > A.id
+    WHERE A.status <> 'REJECTED' AND B.status <> 'REJECTED'
+      AND A.start_time < B.end_time AND B.start_time < A.end_time;
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'BOOKING_NO_OVERLAP_EXCL не может быть добавлено, найдены пересекающиеся бронирования: %',
+            conflicts
+            USING HINT = 'Переведите лишние заявки в REJECTED или измените их период и повторите миграцию';
+    END IF;
+END $$;
+
+ALTER TABLE booking ADD CONSTRAINT BOOKING_NO_OVERLAP_EXCL
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&) WHERE (status <> 'REJECTED');
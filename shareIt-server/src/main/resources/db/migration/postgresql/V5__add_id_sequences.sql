@@ -0,0 +1,19 @@
+-- Hibernate (pooled) резервирует id блоками по 50: значение последовательности - верхняя граница блока,
+-- поэтому первое значение равно MAX(id) + 50, а блок начинается с MAX(id) + 1.
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE requests_seq INCREMENT BY 50;
+CREATE SEQUENCE items_seq INCREMENT BY 50;
+CREATE SEQUENCE booking_seq INCREMENT BY 50;
+CREATE SEQUENCE comments_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) FROM users) + 50, false);
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(id), 0) FROM requests) + 50, false);
+SELECT setval('items_seq', (SELECT COALESCE(MAX(id), 0) FROM items) + 50, false);
+SELECT setval('booking_seq', (SELECT COALESCE(MAX(id), 0) FROM booking) + 50, false);
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) FROM comments) + 50, false);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE booking ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,6 @@
+-- Пересекаться не могут только одобренные бронирования: заявки WAITING на один и тот же период не мешают
+-- друг другу, владелец одобряет одну из них. Одобренные бронирования уже удовлетворяют V4, данные не меняются.
+ALTER TABLE booking DROP CONSTRAINT BOOKING_NO_OVERLAP_EXCL;
+
+ALTER TABLE booking ADD CONSTRAINT BOOKING_NO_OVERLAP_EXCL
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&) WHERE (status = 'APPROVED');
@@ -12,8 +12,10 @@ import ru.practicum.shareit.booking.dto.BookingIncomeInfo;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemForBookingDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserIdDto;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -96,9 +98,9 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andReturn()
                 .getResponse()
-                .getContentAsString();
+                .getContentAsString(StandardCharsets.UTF_8);
 
-        assertEquals(expectedResult, result);
+        assertEquals("[\"" + expectedResult + "\"]", result);
         verify(bookingService, times(1)).deleteBooking(anyLong(), anyLong());
     }
 
@@ -180,4 +182,28 @@ class BookingControllerTest {
         verify(bookingService, times(1))
                 .findOwnerBookings(anyLong(), any(), anyInt(), anyInt());
     }
+
+    @SneakyThrows
+    @Test
+    void findUserBookingsWithCursorWithoutTimeThenBadRequest() {
+        String cursor = new KeysetCursor(null, 5L).encode();
+
+        mockMvc.perform(get("/bookings?cursor={cursor}", cursor)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findUserBookings(anyLong(), any(), any(KeysetCursor.class), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void findOwnerBookingsWithCursorWithoutTimeThenBadRequest() {
+        String cursor = new KeysetCursor(null, 5L).encode();
+
+        mockMvc.perform(get("/bookings/owner?cursor={cursor}", cursor)
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findOwnerBookings(anyLong(), any(), any(KeysetCursor.class), anyInt());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookingExporter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingExporterTest {
+
+    @Autowired
+    private BookingExporter bookingExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User booker;
+
+    private User owner;
+
+    @BeforeAll
+    void setUp() {
+        booker = userRepository.save(new User(null, "Test", "test@test.ru"));
+        owner = userRepository.save(new User(null, "Test2", "test2@test.ru"));
+        Item item = itemRepository.save(new Item(null, "Test", "Test", true, owner, null));
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.saveAll(List.of(
+                new Booking(null, now.minusDays(3), now.minusDays(2), Status.APPROVED, booker, item),
+                new Booking(null, now.minusHours(1), now.plusHours(1), Status.APPROVED, booker, item),
+                new Booking(null, now.plusDays(1), now.plusDays(2), Status.WAITING, booker, item),
+                new Booking(null, now.plusDays(3), now.plusDays(4), Status.REJECTED, booker, item)));
+    }
+
+    @Test
+    void exportUserBookingsWhenStateAllThenWriteEveryBookingAsLineOrderedByStartDesc() throws IOException {
+        List<JsonNode> lines = export(out -> bookingExporter.exportUserBookings(booker.getId(), BookingState.ALL, out));
+
+        assertAll(
+                () -> assertEquals(lines.size(), 4),
+                () -> assertEquals(lines.get(0).get("status").asText(), "REJECTED"),
+                () -> assertEquals(lines.get(3).get("status").asText(), "APPROVED"),
+                () -> assertEquals(lines.get(0).get("booker").get("id").asLong(), booker.getId()),
+                () -> assertEquals(lines.get(0).get("item").get("name").asText(), "Test"),
+                () -> assertTrue(lines.get(0).get("start").asText()
+                        .compareTo(lines.get(1).get("start").asText()) > 0)
+        );
+    }
+
+    @Test
+    void exportOwnerBookingsWhenStateFilteredThenWriteOnlyMatchingBookings() throws IOException {
+        List<JsonNode> current = export(out -> bookingExporter.exportOwnerBookings(owner.getId(),
+                BookingState.CURRENT, out));
+        List<JsonNode> waiting = export(out -> bookingExporter.exportOwnerBookings(owner.getId(),
+                BookingState.WAITING, out));
+        List<JsonNode> future = export(out -> bookingExporter.exportOwnerBookings(owner.getId(),
+                BookingState.FUTURE, out));
+
+        assertAll(
+                () -> assertEquals(current.size(), 1),
+                () -> assertEquals(waiting.size(), 1),
+                () -> assertEquals(waiting.get(0).get("status").asText(), "WAITING"),
+                () -> assertEquals(future.size(), 2)
+        );
+    }
+
+    @Test
+    void exportOwnerBookingsWhenUserOwnsNoItemsThenWriteNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExporter.exportOwnerBookings(booker.getId(), BookingState.ALL, out);
+
+        assertEquals(out.size(), 0);
+    }
+
+    private List<JsonNode> export(Export export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private interface Export {
+        void writeTo(ByteArrayOutputStream out) throws IOException;
+    }
+}
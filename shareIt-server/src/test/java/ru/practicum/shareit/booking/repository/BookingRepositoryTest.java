@@ -0,0 +1,337 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    void setUp() {
+        User booker = new User(1L, "Test", "test@test.ru");
+        userRepository.save(booker);
+        User owner = new User(2L, "Test2", "test2@test.ru");
+        userRepository.save(owner);
+        Item item = new Item(1L, "Test", "Test",
+                true, owner, null);
+        itemRepository.save(item);
+        Booking currentBooking = new Booking(1L, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), Status.APPROVED, booker, item);
+        Booking pastBooking = new Booking(2L, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(1), Status.APPROVED, booker, item);
+        Booking futureBooking = new Booking(3L, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(3), Status.APPROVED, booker, item);
+        Booking waitingBooking = new Booking(4L, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(3), Status.WAITING, booker, item);
+        Booking rejectedBooking = new Booking(5L, LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(3), Status.REJECTED, booker, item);
+        bookingRepository.saveAll(List.of(currentBooking, pastBooking, futureBooking, waitingBooking,
+                rejectedBooking));
+    }
+
+    @Test
+    void getBookerId() {
+        Long bookerId = bookingRepository.getBookerId(1L);
+
+        assertEquals(bookerId, 1L);
+    }
+
+    @Test
+    void updateStatusByOwner() {
+        int notOwnerUpdated = bookingRepository.updateStatusByOwner(4L, 1L, Status.APPROVED);
+        int alreadyApprovedUpdated = bookingRepository.updateStatusByOwner(1L, 2L, Status.REJECTED);
+        int updated = bookingRepository.updateStatusByOwner(4L, 2L, Status.APPROVED);
+        Booking booking = bookingRepository.findByIdWithItem(4L).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(notOwnerUpdated, 0),
+                () -> assertEquals(alreadyApprovedUpdated, 0),
+                () -> assertEquals(updated, 1),
+                () -> assertEquals(booking.getStatus(), Status.APPROVED),
+                () -> assertEquals(booking.getItem().getName(), "Test")
+        );
+    }
+
+    @Test
+    void approveByOwner() {
+        int overlappingUpdated = bookingRepository.approveByOwner(4L, 2L);
+        int notOwnerUpdated = bookingRepository.approveByOwner(5L, 1L);
+        int updated = bookingRepository.approveByOwner(5L, 2L);
+        Booking booking = bookingRepository.findByIdWithItem(5L).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(overlappingUpdated, 0),
+                () -> assertEquals(notOwnerUpdated, 0),
+                () -> assertEquals(updated, 1),
+                () -> assertEquals(booking.getStatus(), Status.APPROVED)
+        );
+    }
+
+    @Test
+    void findAllUsersBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findAllUsersBookings(1L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 5),
+                () -> assertEquals(bookings.get(1).getId(), 4L),
+                () -> assertEquals(bookings.get(1).getStatus(), Status.WAITING),
+                () -> assertEquals(bookings.get(1).getBookerId(), 1L),
+                () -> assertEquals(bookings.get(1).getItemId(), 1L),
+                () -> assertEquals(bookings.get(1).getItemName(), "Test")
+        );
+    }
+
+    @Test
+    void findAllUsersBookingsBefore() {
+        BookingView lastOnPage = bookingRepository
+                .findAllUsersBookings(1L, PageRequest.of(0, 2)).get(1);
+        List<BookingView> bookings = bookingRepository
+                .findAllUsersBookingsBefore(1L, lastOnPage.getStartTime(), lastOnPage.getId(), PageRequest.of(0, 2));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 2),
+                () -> assertEquals(bookings.get(0).getId(), 3L),
+                () -> assertEquals(bookings.get(1).getId(), 1L)
+        );
+    }
+
+    @Test
+    void findCurrentUserBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findCurrentUserBookings(1L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 1L)
+        );
+    }
+
+    @Test
+    void findPastUserBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findPastUserBookings(1L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 2L)
+        );
+    }
+
+    @Test
+    void findFutureUserBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findFutureUserBookings(1L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 3),
+                () -> assertEquals(bookings.get(2).getId(), 3L)
+        );
+    }
+
+    @Test
+    void findWaitingUserBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findWaitingUserBookings(1L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 4L)
+        );
+    }
+
+    @Test
+    void findRejectedUserBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findRejectedUserBookings(1L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 5L)
+        );
+    }
+
+    @Test
+    void findAllOwnerBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findAllOwnerBookings(2L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 5),
+                () -> assertEquals(bookings.get(0).getId(), 5L)
+        );
+    }
+
+    @Test
+    void findCurrentOwnerBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findCurrentOwnerBookings(2L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 1L)
+        );
+    }
+
+    @Test
+    void findPastOwnerBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findPastOwnerBookings(2L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 2L)
+        );
+    }
+
+    @Test
+    void findFutureOwnerBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findFutureOwnerBookings(2L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 3),
+                () -> assertEquals(bookings.get(0).getId(), 5L)
+        );
+    }
+
+    @Test
+    void findWaitingOwnerBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findWaitingOwnerBookings(2L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 4L)
+        );
+    }
+
+    @Test
+    void findRejectedOwnerBookings() {
+        List<BookingView> bookings = bookingRepository
+                .findRejectedOwnerBookings(2L, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 5L)
+        );
+    }
+
+    @Test
+    void bookingsBeforeNowCount() {
+        Long bookingBeforeNow = bookingRepository
+                .bookingsBeforeNowCount(1L, 1L, LocalDateTime.now());
+
+        assertEquals(bookingBeforeNow, 1L);
+
+    }
+
+    @Test
+    void findLastAndNextBookings() {
+        List<BookingForItemView> bookings = bookingRepository
+                .findLastAndNextBookings(List.of(1L), LocalDateTime.now());
+        BookingForItemView lastBooking = bookings.stream()
+                .filter(BookingForItemView::getIsLast).findFirst().orElseThrow();
+        BookingForItemView nextBooking = bookings.stream()
+                .filter(o -> !o.getIsLast()).findFirst().orElseThrow();
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 2),
+                () -> assertEquals(lastBooking.getId(), 1L),
+                () -> assertEquals(lastBooking.getItemId(), 1L),
+                () -> assertEquals(lastBooking.getBookerId(), 1L),
+                () -> assertEquals(nextBooking.getId(), 3L)
+        );
+    }
+
+    @Test
+    void findLastAndNextBookingsWhenBookingStartsAtNowThenSkipIt() {
+        LocalDateTime now = bookingRepository.findById(1L).orElseThrow().getStart();
+
+        List<BookingForItemView> bookings = bookingRepository
+                .findLastAndNextBookings(List.of(1L), now);
+        BookingForItemView lastBooking = bookings.stream()
+                .filter(BookingForItemView::getIsLast).findFirst().orElseThrow();
+        BookingForItemView nextBooking = bookings.stream()
+                .filter(o -> !o.getIsLast()).findFirst().orElseThrow();
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 2),
+                () -> assertEquals(lastBooking.getId(), 2L),
+                () -> assertEquals(nextBooking.getId(), 3L)
+        );
+    }
+
+    @Test
+    void findLastAndNextBookingsWhenNoApprovedBookingAfterNowThenReturnOnlyLast() {
+        LocalDateTime now = bookingRepository.findById(3L).orElseThrow().getStart().plusSeconds(1);
+
+        List<BookingForItemView> bookings = bookingRepository
+                .findLastAndNextBookings(List.of(1L, 2L), now);
+
+        assertAll(
+                () -> assertEquals(bookings.size(), 1),
+                () -> assertEquals(bookings.get(0).getId(), 3L),
+                () -> assertTrue(bookings.get(0).getIsLast())
+        );
+    }
+
+    @Test
+    void findApprovedBookingIntervals() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingIntervalView> intervals = bookingRepository
+                .findApprovedBookingIntervals(1L, now, now.plusDays(2));
+        List<BookingIntervalView> past = bookingRepository
+                .findApprovedBookingIntervals(1L, now.minusDays(5), now.minusDays(4));
+
+        assertAll(
+                () -> assertEquals(intervals.size(), 2),
+                () -> assertEquals(intervals.get(0).getId(), 1L),
+                () -> assertEquals(intervals.get(1).getId(), 3L),
+                () -> assertTrue(past.isEmpty())
+        );
+    }
+
+    @Test
+    void countApprovedOverlaps() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime futureEnd = bookingRepository.findById(3L).orElseThrow().getEnd();
+
+        assertAll(
+                () -> assertEquals(bookingRepository.countApprovedOverlaps(1L, now, now.plusHours(12), 0L), 1L),
+                () -> assertEquals(bookingRepository.countApprovedOverlaps(1L, now, now.plusHours(12), 1L), 0L),
+                () -> assertEquals(bookingRepository.countApprovedOverlaps(1L, futureEnd, futureEnd.plusDays(1), 0L),
+                        0L),
+                () -> assertEquals(bookingRepository.countApprovedOverlaps(2L, now, now.plusDays(1), 0L), 0L)
+        );
+    }
+}
\ No newline at end of file
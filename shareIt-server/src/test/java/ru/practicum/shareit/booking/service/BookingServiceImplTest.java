@@ -7,18 +7,29 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomeInfo;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookedByOwnerException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.ItemNotAvailableException;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.OwnerIdAndUserIdException;
+import ru.practicum.shareit.exception.WrongStatusSetException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -37,10 +48,10 @@ class BookingServiceImplTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserIdentityCache userIdentityCache;
 
     @Mock
-    private CustomValidator customValidator;
+    private BookingExporter bookingExporter;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -67,8 +78,8 @@ class BookingServiceImplTest {
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.WAITING, bookerUser, item);
         BookingDto expectedResult = BookingMapper.toBookingDto(booking);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(bookerUser));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(bookerUser);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingDto result = bookingService.createBooking(createBooking, userId);
@@ -98,8 +109,8 @@ class BookingServiceImplTest {
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.WAITING, bookerUser, item);
         BookingDto expectedResult = BookingMapper.toBookingDto(booking);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(bookerUser));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(bookerUser);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(ItemNotAvailableException.class,
                 () -> bookingService.createBooking(createBooking, userId));
@@ -107,22 +118,6 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(any());
     }
 
-    @Test
-    void createBookingWhenBookingNotValidThenThrowIncorrectTimeException() {
-        Long userId = 1L;
-        BookingIncomeInfo createBooking = new BookingIncomeInfo();
-        createBooking.setStart(LocalDateTime.of(2023, 3, 19, 17, 45));
-        createBooking.setEnd(LocalDateTime.of(2023, 3, 20, 17, 45));
-        doThrow(IncorrectBookingTimeException.class).when(customValidator).isBookingValid(createBooking);
-
-        assertThrows(IncorrectBookingTimeException.class,
-                () -> bookingService.createBooking(createBooking, userId));
-
-        verify(userRepository, never()).findById(anyLong());
-        verify(itemRepository, never()).findById(anyLong());
-        verify(bookingRepository, never()).save(any());
-    }
-
     @Test
     void createBookingWhenUserIsOwnerThenThrowBookedByOwnerException() {
         Long userId = 1L;
@@ -143,8 +138,8 @@ class BookingServiceImplTest {
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.WAITING, bookerUser, item);
         BookingDto expectedResult = BookingMapper.toBookingDto(booking);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(bookerUser));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(bookerUser);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(BookedByOwnerException.class,
                 () -> bookingService.createBooking(createBooking, userId));
@@ -152,6 +147,32 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBookingWhenPeriodOverlapsThenThrowBookingOverlapException() {
+        Long userId = 1L;
+        BookingIncomeInfo createBooking = new BookingIncomeInfo();
+        createBooking.setStart(LocalDateTime.of(2023, 3, 10, 17, 45));
+        createBooking.setEnd(LocalDateTime.of(2023, 3, 20, 17, 45));
+        createBooking.setItemId(1L);
+        User bookerUser = new User();
+        bookerUser.setId(userId);
+        User ownerUser = new User();
+        ownerUser.setId(2L);
+        Item item = new Item();
+        item.setId(1L);
+        item.setOwner(ownerUser);
+        item.setAvailable(true);
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(bookerUser);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(bookingRepository.countApprovedOverlaps(1L, createBooking.getStart(), createBooking.getEnd(), 0L))
+                .thenReturn(1L);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.createBooking(createBooking, userId));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void changeBookingStatusWhenStatusChangeToApprovedThenSaveStatus() {
         Long bookingId = 1L;
@@ -162,57 +183,65 @@ class BookingServiceImplTest {
         Item item = new Item();
         item.setId(1L);
         item.setName("Test");
-        Booking booking = new Booking(1L,
-                LocalDateTime.of(2023, 3, 10, 17, 45),
-                LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.WAITING, user, item);
         Booking updatedBooking = new Booking(1L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.APPROVED, user, item);
         BookingDto expectedResult = BookingMapper.toBookingDto(updatedBooking);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(itemRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRepository.getOwnerId(anyLong())).thenReturn(1L);
-        when(bookingRepository.save(any())).thenReturn(updatedBooking);
+        when(bookingRepository.approveByOwner(bookingId, userId)).thenReturn(1);
+        when(bookingRepository.findByIdWithItem(bookingId)).thenReturn(Optional.of(updatedBooking));
 
         BookingDto result = bookingService.changeBookingStatus(bookingId, isApproved, userId);
 
         assertEquals(expectedResult, result);
-        verify(bookingRepository, times(1)).save(any());
+        verify(bookingRepository, never()).save(any());
 
     }
 
     @Test
-    void changeBookingStatusWhenStatusChangeToRejectedThenSaveStatus() {
+    void changeBookingStatusWhenApprovedPeriodOverlapsThenThrowBookingOverlapException() {
         Long bookingId = 1L;
         Long userId = 1L;
-        String isApproved = "false";
         User user = new User();
         user.setId(userId);
         Item item = new Item();
         item.setId(1L);
-        item.setName("Test");
-        Booking booking = new Booking(1L,
+        item.setOwner(user);
+        Booking booking = new Booking(bookingId,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.WAITING, user, item);
+        when(bookingRepository.approveByOwner(bookingId, userId)).thenReturn(0);
+        when(bookingRepository.findByIdWithItem(bookingId)).thenReturn(Optional.of(booking));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.changeBookingStatus(bookingId, "true", userId));
+
+        verify(bookingRepository, never()).countApprovedOverlaps(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    void changeBookingStatusWhenStatusChangeToRejectedThenSaveStatus() {
+        Long bookingId = 1L;
+        Long userId = 1L;
+        String isApproved = "false";
+        User user = new User();
+        user.setId(userId);
+        Item item = new Item();
+        item.setId(1L);
+        item.setName("Test");
         Booking updatedBooking = new Booking(1L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.REJECTED, user, item);
         BookingDto expectedResult = BookingMapper.toBookingDto(updatedBooking);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(itemRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRepository.getOwnerId(anyLong())).thenReturn(1L);
-        when(bookingRepository.save(any())).thenReturn(updatedBooking);
+        when(bookingRepository.updateStatusByOwner(bookingId, userId, Status.REJECTED)).thenReturn(1);
+        when(bookingRepository.findByIdWithItem(bookingId)).thenReturn(Optional.of(updatedBooking));
 
         BookingDto result = bookingService.changeBookingStatus(bookingId, isApproved, userId);
 
         assertEquals(expectedResult, result);
-        verify(bookingRepository, times(1)).save(any());
+        verify(bookingRepository, never()).save(any());
 
     }
 
@@ -226,14 +255,13 @@ class BookingServiceImplTest {
         Item item = new Item();
         item.setId(1L);
         item.setName("Test");
+        item.setOwner(user);
         Booking booking = new Booking(1L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
                 Status.APPROVED, user, item);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(itemRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRepository.getOwnerId(anyLong())).thenReturn(1L);
+        when(bookingRepository.approveByOwner(bookingId, userId)).thenReturn(0);
+        when(bookingRepository.findByIdWithItem(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(WrongStatusSetException.class,
                 () -> bookingService.changeBookingStatus(bookingId, isApproved, userId));
@@ -242,6 +270,36 @@ class BookingServiceImplTest {
 
     }
 
+    @Test
+    void changeBookingStatusWhenUserIsNotOwnerThenThrowObjectNotFoundException() {
+        Long bookingId = 1L;
+        Long userId = 2L;
+        String isApproved = "true";
+        User owner = new User();
+        owner.setId(1L);
+        Item item = new Item();
+        item.setId(1L);
+        item.setOwner(owner);
+        Booking booking = new Booking(1L,
+                LocalDateTime.of(2023, 3, 10, 17, 45),
+                LocalDateTime.of(2023, 3, 20, 17, 45),
+                Status.WAITING, owner, item);
+        when(bookingRepository.approveByOwner(bookingId, userId)).thenReturn(0);
+        when(bookingRepository.findByIdWithItem(bookingId)).thenReturn(Optional.of(booking));
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.changeBookingStatus(bookingId, isApproved, userId));
+    }
+
+    @Test
+    void changeBookingStatusWhenBookingNotExistThenThrowObjectNotFoundException() {
+        when(bookingRepository.updateStatusByOwner(99L, 1L, Status.REJECTED)).thenReturn(0);
+        when(bookingRepository.findByIdWithItem(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.changeBookingStatus(99L, "false", 1L));
+    }
+
     @Test
     void deleteBookingWhenUserIsOwnerThenDeleteBooking() {
         Long bookingId = 1L;
@@ -254,7 +312,6 @@ class BookingServiceImplTest {
         booking.setItem(item);
         booking.setBooker(user);
         String expectedResult = "Заявка на аренду успешно удалена";
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking);
@@ -277,7 +334,6 @@ class BookingServiceImplTest {
         Booking booking = new Booking();
         booking.setItem(item);
         booking.setBooker(user);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(bookingRepository.existsById(bookingId)).thenReturn(true);
         when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
         when(bookingRepository.getBookerId(bookingId)).thenReturn(2L);
@@ -310,8 +366,7 @@ class BookingServiceImplTest {
         createBooking.setItem(item);
         createBooking.setStatus(Status.WAITING);
         BookingDto expectedResult = BookingMapper.toBookingDto(createBooking);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(createBooking));
+        when(bookingRepository.findByIdWithItem(anyLong())).thenReturn(Optional.of(createBooking));
         when(itemRepository.getOwnerId(anyLong())).thenReturn(1L);
 
         BookingDto result = bookingService.findById(bookingId, userId);
@@ -341,8 +396,7 @@ class BookingServiceImplTest {
         createBooking.setBooker(user);
         createBooking.setStatus(Status.WAITING);
         BookingDto expectedResult = BookingMapper.toBookingDto(createBooking);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(createBooking));
+        when(bookingRepository.findByIdWithItem(anyLong())).thenReturn(Optional.of(createBooking));
 
         BookingDto result = bookingService.findById(bookingId, userId);
 
@@ -371,8 +425,7 @@ class BookingServiceImplTest {
         createBooking.setBooker(user);
         createBooking.setStatus(Status.WAITING);
         BookingDto expectedResult = BookingMapper.toBookingDto(createBooking);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(createBooking));
+        when(bookingRepository.findByIdWithItem(anyLong())).thenReturn(Optional.of(createBooking));
         when(itemRepository.getOwnerId(anyLong())).thenReturn(3L);
 
         assertThrows(OwnerIdAndUserIdException.class,
@@ -400,32 +453,31 @@ class BookingServiceImplTest {
         item.setOwner(userOwner);
         item.setName("Test");
         item.setId(1L);
-        Booking bookingCurrent = new Booking(1L,
+        BookingView bookingCurrent = bookingView(1L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.APPROVED, userBooker, item);
-        Booking bookingPast = new Booking(2L,
+                Status.APPROVED, userBooker.getId(), item);
+        BookingView bookingPast = bookingView(2L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 11, 17, 45),
-                Status.APPROVED, userBooker, item);
-        Booking bookingFuture = new Booking(3L,
+                Status.APPROVED, userBooker.getId(), item);
+        BookingView bookingFuture = bookingView(3L,
                 LocalDateTime.of(2023, 3, 15, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.APPROVED, userBooker, item);
-        Booking bookingWaiting = new Booking(4L,
+                Status.APPROVED, userBooker.getId(), item);
+        BookingView bookingWaiting = bookingView(4L,
                 LocalDateTime.of(2023, 3, 15, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.WAITING, userBooker, item);
-        Booking bookingRejected = new Booking(5L,
+                Status.WAITING, userBooker.getId(), item);
+        BookingView bookingRejected = bookingView(5L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.REJECTED, userBooker, item);
+                Status.REJECTED, userBooker.getId(), item);
         BookingDto expectedCurrent = BookingMapper.toBookingDto(bookingCurrent);
         BookingDto expectedPast = BookingMapper.toBookingDto(bookingPast);
         BookingDto expectedFuture = BookingMapper.toBookingDto(bookingFuture);
         BookingDto expectedWaiting = BookingMapper.toBookingDto(bookingWaiting);
         BookingDto expectedRejected = BookingMapper.toBookingDto(bookingRejected);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(bookingRepository.findCurrentUserBookings(anyLong(), any()))
                 .thenReturn(List.of(bookingCurrent));
         when(bookingRepository.findPastUserBookings(anyLong(), any()))
@@ -470,7 +522,6 @@ class BookingServiceImplTest {
         BookingState stateWaiting = BookingState.WAITING;
         BookingState stateRejected = BookingState.REJECTED;
         BookingState stateAll = BookingState.ALL;
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(bookingRepository.findCurrentUserBookings(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.findPastUserBookings(anyLong(), any()))
@@ -526,44 +577,42 @@ class BookingServiceImplTest {
         item2.setName("Test2");
         item2.setId(2L);
         List<Long> itemsId = List.of(1L, 2L);
-        Booking bookingCurrent = new Booking(1L,
+        BookingView bookingCurrent = bookingView(1L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.APPROVED, userBooker, item);
-        Booking bookingPast = new Booking(2L,
+                Status.APPROVED, userBooker.getId(), item);
+        BookingView bookingPast = bookingView(2L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 11, 17, 45),
-                Status.APPROVED, userBooker, item);
-        Booking bookingFuture = new Booking(3L,
+                Status.APPROVED, userBooker.getId(), item);
+        BookingView bookingFuture = bookingView(3L,
                 LocalDateTime.of(2023, 3, 15, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.APPROVED, userBooker, item);
-        Booking bookingWaiting = new Booking(4L,
+                Status.APPROVED, userBooker.getId(), item);
+        BookingView bookingWaiting = bookingView(4L,
                 LocalDateTime.of(2023, 3, 15, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.WAITING, userBooker, item);
-        Booking bookingRejected = new Booking(5L,
+                Status.WAITING, userBooker.getId(), item);
+        BookingView bookingRejected = bookingView(5L,
                 LocalDateTime.of(2023, 3, 10, 17, 45),
                 LocalDateTime.of(2023, 3, 20, 17, 45),
-                Status.REJECTED, userBooker, item);
+                Status.REJECTED, userBooker.getId(), item);
         BookingDto expectedCurrent = BookingMapper.toBookingDto(bookingCurrent);
         BookingDto expectedPast = BookingMapper.toBookingDto(bookingPast);
         BookingDto expectedFuture = BookingMapper.toBookingDto(bookingFuture);
         BookingDto expectedWaiting = BookingMapper.toBookingDto(bookingWaiting);
         BookingDto expectedRejected = BookingMapper.toBookingDto(bookingRejected);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRepository.getItemsIdsOfOwner(anyLong())).thenReturn(List.of(1L, 2L));
-        when(bookingRepository.findCurrentOwnerBookings(anyList(), any()))
+        when(bookingRepository.findCurrentOwnerBookings(anyLong(), any()))
                 .thenReturn(List.of(bookingCurrent));
-        when(bookingRepository.findPastOwnerBookings(anyList(), any()))
+        when(bookingRepository.findPastOwnerBookings(anyLong(), any()))
                 .thenReturn(List.of(bookingPast));
-        when(bookingRepository.findFutureOwnerBookings(anyList(), any()))
+        when(bookingRepository.findFutureOwnerBookings(anyLong(), any()))
                 .thenReturn(List.of(bookingFuture));
-        when(bookingRepository.findWaitingOwnerBookings(anyList(), any()))
+        when(bookingRepository.findWaitingOwnerBookings(anyLong(), any()))
                 .thenReturn(List.of(bookingWaiting));
-        when(bookingRepository.findRejectedOwnerBookings(anyList(), any()))
+        when(bookingRepository.findRejectedOwnerBookings(anyLong(), any()))
                 .thenReturn(List.of(bookingRejected));
-        when(bookingRepository.findAllOwnerBookings(anyList(), any())).thenReturn(List.of(bookingCurrent,
+        when(bookingRepository.findAllOwnerBookings(anyLong(), any())).thenReturn(List.of(bookingCurrent,
                 bookingPast, bookingFuture, bookingWaiting, bookingRejected));
 
         List<BookingDto> resultCurrent = bookingService.findOwnerBookings(userId, stateCurrent, from, size);
@@ -597,19 +646,17 @@ class BookingServiceImplTest {
         BookingState stateRejected = BookingState.REJECTED;
         BookingState stateAll = BookingState.ALL;
         List<Long> itemsId = Collections.emptyList();
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRepository.getItemsIdsOfOwner(anyLong())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findCurrentOwnerBookings(anyList(), any()))
+        when(bookingRepository.findCurrentOwnerBookings(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findPastOwnerBookings(anyList(), any()))
+        when(bookingRepository.findPastOwnerBookings(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findFutureOwnerBookings(anyList(), any()))
+        when(bookingRepository.findFutureOwnerBookings(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findWaitingOwnerBookings(anyList(), any()))
+        when(bookingRepository.findWaitingOwnerBookings(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findRejectedOwnerBookings(anyList(), any()))
+        when(bookingRepository.findRejectedOwnerBookings(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllOwnerBookings(anyList(), any())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findAllOwnerBookings(anyLong(), any())).thenReturn(Collections.emptyList());
 
         List<BookingDto> resultCurrent = bookingService.findOwnerBookings(userId, stateCurrent, from, size);
         List<BookingDto> resultPast = bookingService.findOwnerBookings(userId, statePast, from, size);
@@ -627,4 +674,41 @@ class BookingServiceImplTest {
                 () -> assertEquals(Collections.emptyList(), resultAll)
         );
     }
-}
\ No newline at end of file
+
+    private BookingView bookingView(Long id, LocalDateTime start, LocalDateTime end, Status status, Long bookerId,
+                                    Item item) {
+        BookingView booking = mock(BookingView.class);
+        when(booking.getId()).thenReturn(id);
+        when(booking.getStartTime()).thenReturn(start);
+        when(booking.getEndTime()).thenReturn(end);
+        when(booking.getStatus()).thenReturn(status);
+        when(booking.getBookerId()).thenReturn(bookerId);
+        when(booking.getItemId()).thenReturn(item.getId());
+        when(booking.getItemName()).thenReturn(item.getName());
+        return booking;
+    }
+
+    @Test
+    void exportUserBookingsWhenUserExistThenWriteBookingsWithExporter() throws IOException {
+        Long userId = 1L;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamingResponseBody body = bookingService.exportUserBookings(userId, BookingState.PAST);
+        body.writeTo(out);
+
+        verify(userIdentityCache, times(1)).checkUserExists(userId);
+        verify(bookingExporter, times(1)).exportUserBookings(userId, BookingState.PAST, out);
+    }
+
+    @Test
+    void exportOwnerBookingsWhenUserNotExistThenThrowObjectNotFoundException() throws IOException {
+        Long userId = 1L;
+        doThrow(new ObjectNotFoundException("Пользователь не зарегестрирован"))
+                .when(userIdentityCache).checkUserExists(userId);
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.exportOwnerBookings(userId, BookingState.ALL));
+
+        verify(bookingExporter, never()).exportOwnerBookings(any(), any(), any());
+    }
+}
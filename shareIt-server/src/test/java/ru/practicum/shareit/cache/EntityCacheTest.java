@@ -0,0 +1,101 @@
+package ru.practicum.shareit.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.entity-cache.enabled=true")
+class EntityCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache.evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void findUserByIdWhenUserIsCachedThenReadFromCache() {
+        User user = userRepository.save(new User(null, "Cached", "cached@cache.ru"));
+        cache.evict(User.class);
+
+        userService.findUserById(user.getId());
+        userService.findUserById(user.getId());
+
+        CacheRegionStatistics users = statistics.getDomainDataRegionStatistics("users");
+        assertAll(
+                () -> assertEquals(users.getMissCount(), 1L),
+                () -> assertEquals(users.getHitCount(), 1L),
+                () -> assertTrue(cache.contains(User.class, user.getId()))
+        );
+    }
+
+    @Test
+    void updateUserWhenUserIsCachedThenReturnUpdatedUser() {
+        User user = userRepository.save(new User(null, "Before", "before@cache.ru"));
+        userService.findUserById(user.getId());
+
+        userService.updateUser(new UserDto(null, null, "After"), user.getId());
+
+        assertEquals(userService.findUserById(user.getId()).getName(), "After");
+    }
+
+    @Test
+    void deleteUserWhenItemsAndRequestsAreCachedThenEvictThem() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@cache.ru"));
+        Item item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        ItemRequest request = new ItemRequest(null, "Нужна пила", LocalDateTime.now().withNano(0));
+        request.setRequestor(owner);
+        itemRequestRepository.save(request);
+        itemRepository.findById(item.getId());
+        itemRequestRepository.findById(request.getId());
+        assertTrue(cache.contains(Item.class, item.getId()));
+
+        userService.deleteUser(owner.getId());
+
+        assertAll(
+                () -> assertFalse(cache.contains(Item.class, item.getId())),
+                () -> assertFalse(cache.contains(ItemRequest.class, request.getId())),
+                () -> assertTrue(itemRepository.findById(item.getId()).isEmpty()),
+                () -> assertTrue(itemRequestRepository.findById(request.getId()).isEmpty())
+        );
+    }
+}
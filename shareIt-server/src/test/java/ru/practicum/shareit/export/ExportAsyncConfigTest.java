@@ -0,0 +1,81 @@
+package ru.practicum.shareit.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = BookingController.class, properties = "shareit.export.max-concurrent=1")
+class ExportAsyncConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @SneakyThrows
+    @Test
+    void exportWhenLimitReachedThenServiceUnavailableUntilRunningExportCompletes() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StreamingResponseBody slow = out -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        };
+        StreamingResponseBody fast = out -> out.write("{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+        when(bookingService.exportUserBookings(anyLong(), any(BookingState.class))).thenReturn(slow, fast);
+        when(bookingService.exportOwnerBookings(anyLong(), any(BookingState.class))).thenReturn(fast);
+
+        MvcResult running = mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isServiceUnavailable());
+        verify(bookingService, times(1)).exportOwnerBookings(anyLong(), any(BookingState.class));
+
+        release.countDown();
+        running.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(running))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+        running.getRequest().getAsyncContext().complete();
+
+        MvcResult next = mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        next.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(next))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"id\":2}\n"));
+    }
+}
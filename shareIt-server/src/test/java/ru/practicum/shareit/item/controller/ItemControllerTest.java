@@ -10,7 +10,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -100,9 +102,9 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andReturn()
                 .getResponse()
-                .getContentAsString();
+                .getContentAsString(StandardCharsets.UTF_8);
 
-        assertEquals(expectedResult, result);
+        assertEquals("[\"" + expectedResult + "\"]", result);
         verify(itemService, times(1)).deleteItem(anyLong(), anyLong());
 
     }
@@ -172,9 +174,9 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andReturn()
                 .getResponse()
-                .getContentAsString();
+                .getContentAsString(StandardCharsets.UTF_8);
 
-        assertEquals(expectedResult, result);
+        assertEquals("[\"" + expectedResult + "\"]", result);
         verify(itemService, times(1)).deleteComment(anyLong(), anyLong(), anyLong());
     }
 
@@ -240,4 +242,16 @@ class ItemControllerTest {
         verify(itemService, times(1))
                 .searchItemByNameAndDescription(anyString(), anyInt(), anyInt());
     }
+
+    @SneakyThrows
+    @Test
+    void findItemCommentsWithCursorWithoutTimeThenBadRequest() {
+        String cursor = new KeysetCursor(null, 5L).encode();
+
+        mockMvc.perform(get("/items/{itemId}/comments?cursor={cursor}", 1L, cursor)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).findItemComments(anyLong(), anyLong(), any(), anyInt());
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -46,7 +47,7 @@ class ItemRepositoryTest {
 
     @Test
     void findAllByOwner_Id() {
-        List<Item> itemList = itemRepository.findAllByOwner_Id(2L, PageRequest.of(0, 10));
+        List<Item> itemList = itemRepository.findAllByOwner_IdOrderByIdAsc(2L, PageRequest.of(0, 10));
 
         assertAll(
                 () -> assertEquals(itemList.size(), 2),
@@ -56,28 +57,24 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findAllByRequestInOrderByIdAsc() {
-        List<Item> itemList = itemRepository
-                .findAllByRequestInOrderByIdAsc(List.of(new ItemRequest(1L, "TestRequest",
-                        LocalDateTime.now().withNano(0))));
-
-        User user = new User(2L, "Test2", "test2@test.ru");
+    void findItemsForRequests() {
+        List<ItemForRequestDto> itemList = itemRepository.findItemsForRequests(List.of(1L, 2L));
 
         assertAll(
                 () -> assertEquals(itemList.size(), 1),
-                () -> assertEquals(itemList.get(0).getId(), 2L),
-                () -> assertEquals(itemList.get(0).getOwner(), user)
+                () -> assertEquals(itemList.get(0), new ItemForRequestDto(2L, "Test2", "Test2", true, 1L, 2L))
         );
     }
 
     @Test
-    void searchByText() {
+    void findAllByIdGreaterThanOrderByIdAsc() {
         List<Item> itemList = itemRepository
-                .searchByText("est", PageRequest.of(0, 10));
+                .findAllByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10));
 
         assertAll(
-                () -> assertEquals(itemList.size(), 3),
-                () -> assertEquals(itemList.get(1).getId(), 2L)
+                () -> assertEquals(itemList.size(), 2),
+                () -> assertEquals(itemList.get(0).getId(), 2L),
+                () -> assertEquals(itemList.get(1).getId(), 3L)
         );
     }
 
@@ -87,15 +84,4 @@ class ItemRepositoryTest {
 
         assertEquals(ownerId, 2L);
     }
-
-    @Test
-    void getItemsIdsOfOwner() {
-        List<Long> itemsIdsList = itemRepository.getItemsIdsOfOwner(2L);
-
-        assertAll(
-                () -> assertEquals(itemsIdsList.size(), 2),
-                () -> assertEquals(itemsIdsList.get(0), 2L),
-                () -> assertEquals(itemsIdsList.get(1), 3L)
-        );
-    }
 }
\ No newline at end of file
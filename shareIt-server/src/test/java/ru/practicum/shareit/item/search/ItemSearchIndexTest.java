@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User(1L, "Test", "test@test.ru");
+        Item drill = new Item(1L, "Дрель", "Простая дрель", true, owner, null);
+        Item cordlessDrill = new Item(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор",
+                true, owner, null);
+        Item screwdriver = new Item(3L, "Отвертка", "Аккумуляторная отвертка", false, owner, null);
+        when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(drill, cordlessDrill, screwdriver));
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchWhenTextMatchesThenReturnOnlyAvailableItemsInIdOrder() {
+        List<ItemDto> result = itemSearchIndex.search("аккУМУляторная", 0, 10);
+
+        assertAll(
+                () -> assertEquals(1, result.size()),
+                () -> assertEquals(2L, result.get(0).getId()),
+                () -> assertEquals("Аккумуляторная дрель", result.get(0).getName())
+        );
+    }
+
+    @Test
+    void searchWhenPageRequestedThenSkipOffset() {
+        List<ItemDto> result = itemSearchIndex.search("дРелЬ", 1, 1);
+
+        assertAll(
+                () -> assertEquals(1, result.size()),
+                () -> assertEquals(2L, result.get(0).getId())
+        );
+    }
+
+    @Test
+    void searchWhenTextShorterThanGramThenScanItems() {
+        List<ItemDto> result = itemSearchIndex.search("ре", 0, 10);
+
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void searchWhenNoGramMatchesThenReturnEmptyList() {
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    @Test
+    void indexWhenItemUpdatedThenReplaceOldGrams() {
+        itemSearchIndex.index(new Item(3L, "Пила", "Ручная пила", true, owner, null));
+
+        assertAll(
+                () -> assertEquals(1, itemSearchIndex.search("пила", 0, 10).size()),
+                () -> assertEquals(Collections.emptyList(), itemSearchIndex.search("отвертка", 0, 10))
+        );
+    }
+
+    @Test
+    void removeOwnerWhenUserDeletedThenRemoveAllOwnerItems() {
+        itemSearchIndex.removeOwner(1L);
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("дрель", 0, 10));
+    }
+}
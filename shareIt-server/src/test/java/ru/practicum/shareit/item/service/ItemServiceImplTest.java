@@ -6,12 +6,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingForItemView;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.IncorrectRequestParamsException;
+import ru.practicum.shareit.exception.NoBookedYetException;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.OwnerIdAndUserIdException;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -19,16 +27,20 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,7 +52,7 @@ class ItemServiceImplTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserIdentityCache userIdentityCache;
 
     @Mock
     private BookingRepository bookingRepository;
@@ -52,7 +64,7 @@ class ItemServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private CustomValidator customValidator;
+    private ItemSearchIndex itemSearchIndex;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -61,18 +73,17 @@ class ItemServiceImplTest {
     void createItemWhenValidItemWhithoutRequestThenSaveItem() {
         Long userId = 1L;
         User user = new User(1L, "test@test.ru", "Test");
-        ItemDto testItem = new ItemDto("Test", "Test", true);
+        ItemDto testItem = new ItemDto(null, "Test", "Test", true);
         ItemDto expectedItem = new ItemDto(1L, "Test", "Test", true);
         Item item = ItemMapper.toItem(testItem);
         item.setId(1L);
         item.setOwner(user);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(user);
         when(itemRepository.save(any())).thenReturn(item);
 
 
         ItemDto result = itemService.createItem(testItem, userId);
 
-        verify(customValidator, times(1)).isItemValid(testItem);
         verify(itemRequestRepository, never()).getReferenceById(any());
         assertEquals(expectedItem, result);
 
@@ -81,48 +92,36 @@ class ItemServiceImplTest {
     @Test
     void createItemWhenUserNotExistThenThrowUserNotAuthorizdException() {
         Long userId = 1L;
-        ItemDto testItem = new ItemDto("Test", "Test", true);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(null));
+        ItemDto testItem = new ItemDto(null, "Test", "Test", true);
+        when(userIdentityCache.getUserReference(anyLong()))
+                .thenThrow(new ObjectNotFoundException("Пользователь не зарегестрирован"));
 
 
         assertThrows(ObjectNotFoundException.class,
                 () -> itemService.createItem(testItem, userId));
 
-        verify(customValidator, times(1)).isItemValid(testItem);
         verify(itemRequestRepository, never()).getReferenceById(any());
         verify(itemRepository, never()).save(any());
 
     }
 
-    @Test
-    void createItemWhenNotValidItemWhithoutRequestThenThrowItemWrongDescriptionException() {
-        Long userId = 1L;
-        ItemDto testItem = new ItemDto("Test", "", true);
-        doThrow(ItemWrongDescriptionException.class).when(customValidator).isItemValid(testItem);
-
-        assertThrows(ItemWrongDescriptionException.class, () -> itemService.createItem(testItem, userId));
-
-        verify(itemRepository, never()).save(any());
-    }
-
     @Test
     void createItemWhenValidItemWithRequestThenSaveItem() {
         Long userId = 1L;
         Long itemRequestId = 0L;
-        ItemDto testItem = new ItemDto("Test", "Test", true);
+        ItemDto testItem = new ItemDto(null, "Test", "Test", true);
         ItemRequest itemRequest = new ItemRequest(itemRequestId);
         testItem.setRequestId(0L);
         Item item = ItemMapper.toItem(testItem);
         item.setRequest(itemRequest);
         User user = new User(userId, "test@test.ru", "Test");
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(user);
         when(itemRequestRepository.getReferenceById(anyLong())).thenReturn(itemRequest);
         when(itemRepository.save(any())).thenReturn(item);
 
 
         ItemDto result = itemService.createItem(testItem, userId);
 
-        verify(customValidator, times(1)).isItemValid(testItem);
         verify(itemRequestRepository, times(1)).getReferenceById(any());
         assertEquals(testItem, result);
 
@@ -134,7 +133,7 @@ class ItemServiceImplTest {
         Long userId = 1L;
         User user = new User();
         user.setId(userId);
-        ItemDto testItem = new ItemDto("Test", "Test", true);
+        ItemDto testItem = new ItemDto(null, "Test", "Test", true);
         ItemDto newItemDto = new ItemDto(itemId, "Renamed", "Renamed", false);
         Item oldItem = ItemMapper.toItem(testItem);
         Item newItem = ItemMapper.toItem(newItemDto);
@@ -142,7 +141,6 @@ class ItemServiceImplTest {
         oldItem.setOwner(user);
         newItem.setId(itemId);
         newItem.setOwner(user);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.getOwnerId(anyLong())).thenReturn(1L);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(oldItem));
         when(itemRepository.save(newItem)).thenReturn(newItem);
@@ -158,7 +156,6 @@ class ItemServiceImplTest {
         Long itemId = 1L;
         ItemDto testItem = new ItemDto(itemId, "Test", "", true);
         Item item = ItemMapper.toItem(testItem);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(null));
 
         assertThrows(ObjectNotFoundException.class,
@@ -177,7 +174,6 @@ class ItemServiceImplTest {
         ItemDto testItem = new ItemDto(itemId, "Test", "Test", true);
         Item item = ItemMapper.toItem(testItem);
         item.setOwner(user);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(itemRepository.getOwnerId(anyLong())).thenReturn(2L);
 
@@ -191,7 +187,6 @@ class ItemServiceImplTest {
     void deleteItemWhenItemExistThenDeleteItem() {
         Long userId = 1L;
         Long itemId = 1L;
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.getOwnerId(anyLong())).thenReturn(1L);
 
@@ -206,7 +201,6 @@ class ItemServiceImplTest {
         Long userId = 1L;
         Long itemId = 1L;
         when(itemRepository.existsById(itemId)).thenReturn(true);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.getOwnerId(itemId)).thenReturn(2L);
 
         assertThrows(OwnerIdAndUserIdException.class, () -> itemService.deleteItem(itemId, userId));
@@ -241,7 +235,7 @@ class ItemServiceImplTest {
                 .created(created)
                 .build();
         CommentDto commentDto = CommentMapper.toCommentDto(comment);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(user);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.bookingsBeforeNowCount(anyLong(), anyLong(), any())).thenReturn(1L);
         when(commentRepository.save(any())).thenReturn(comment);
@@ -253,27 +247,6 @@ class ItemServiceImplTest {
 
     }
 
-    @Test
-    void addCommentWhenCommentNotValidThenThrowEmptyCommentException() {
-        Long userId = 1L;
-        Long itemId = 1L;
-        User user = new User();
-        user.setId(userId);
-        Item item = new Item();
-        item.setId(itemId);
-        item.setOwner(user);
-        CommentDto commentDto = new CommentDto();
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        doThrow(EmptyCommentTextException.class).when(customValidator).isCommentValid(commentDto);
-
-        assertThrows(EmptyCommentTextException.class,
-                () -> itemService.addComment(commentDto, itemId, userId));
-
-        verify(bookingRepository, never()).bookingsBeforeNowCount(anyLong(), anyLong(), any());
-        verify(commentRepository, never()).save(any());
-    }
-
     @Test
     void addCommentWhenNoBookingYetThenThrowNoBookingYetException() {
         Long userId = 1L;
@@ -285,7 +258,7 @@ class ItemServiceImplTest {
         item.setOwner(user);
         CommentDto commentDto = new CommentDto();
         commentDto.setText("Test");
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(user);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.bookingsBeforeNowCount(anyLong(), anyLong(), any())).thenReturn(0L);
 
@@ -314,7 +287,6 @@ class ItemServiceImplTest {
                 .build();
         comment.setText("Test2");
         CommentDto newComment = CommentMapper.toCommentDto(comment);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.existsById(itemId)).thenReturn(true);
         when(commentRepository.findById(anyLong())).thenReturn(Optional.of(comment));
         when(commentRepository.getCommentAuthorId(anyLong())).thenReturn(1L);
@@ -340,7 +312,6 @@ class ItemServiceImplTest {
         comment.setAuthor(user);
         comment.setItem(item);
         CommentDto commentDto = CommentMapper.toCommentDto(comment);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.existsById(itemId)).thenReturn(true);
         when(commentRepository.findById(anyLong())).thenReturn(Optional.of(comment));
         when(commentRepository.getCommentAuthorId(anyLong())).thenReturn(2L);
@@ -357,7 +328,6 @@ class ItemServiceImplTest {
         Long itemId = 1L;
         Long commentId = 1L;
         CommentDto commentDto = new CommentDto();
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.existsById(itemId)).thenReturn(true);
         when(commentRepository.findById(anyLong())).thenReturn(Optional.ofNullable(null));
 
@@ -378,7 +348,6 @@ class ItemServiceImplTest {
         Item item = new Item();
         item.setId(itemId);
         item.setOwner(user);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.existsById(itemId)).thenReturn(true);
         when(commentRepository.existsById(anyLong())).thenReturn(true);
         when(commentRepository.getCommentAuthorId(commentId)).thenReturn(1L);
@@ -399,8 +368,8 @@ class ItemServiceImplTest {
         item.setId(itemId);
         item.setOwner(user);
         ItemDto itemDto = ItemMapper.toItemDto(item);
+        itemDto.setCommentCount(0L);
         itemDto.setComments(Collections.emptyList());
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
         ItemDto result = itemService.findItemById(userId, itemId);
@@ -421,28 +390,21 @@ class ItemServiceImplTest {
         user2.setId(2L);
         item.setOwner(user);
         item.setId(itemId);
-        Comment comment = Comment.builder()
-                .id(1L)
-                .text("Test")
-                .author(new User())
-                .item(item)
-                .created(LocalDateTime.now())
-                .build();
+        CommentForItemView comment = commentView(1L, itemId, "Test", "Author", LocalDateTime.now(), 12L);
         CommentDto commentDto = CommentMapper.toCommentDto(comment);
         itemDto.setId(itemId);
+        itemDto.setCommentCount(12L);
         itemDto.setComments(List.of(commentDto));
-        Booking booking1 = new Booking(1L, LocalDateTime.now(), LocalDateTime.now(), Status.APPROVED,
-                user2, item);
-        Booking booking2 = new Booking(2L, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(3), Status.APPROVED,
-                user2, item);
+        BookingForItemView booking1 = bookingView(1L, itemId, user2.getId(), LocalDateTime.now().minusDays(1),
+                LocalDateTime.now(), true);
+        BookingForItemView booking2 = bookingView(2L, itemId, user2.getId(), LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(3), false);
         itemDto.setNextBooking(BookingMapper.toBookingForItemDto(booking2));
         itemDto.setLastBooking(BookingMapper.toBookingForItemDto(booking1));
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemInOrderByCreatedAsc(any()))
+        when(commentRepository.findRecentComments(List.of(itemId), 10))
                 .thenReturn(List.of(comment));
-        when(bookingRepository.findAllByItemInAndStatusIsOrderByIdAsc(any(), any()))
+        when(bookingRepository.findLastAndNextBookings(any(), any()))
                 .thenReturn(List.of(booking1, booking2));
 
         ItemDto result = itemService.findItemById(userId, itemId);
@@ -457,15 +419,16 @@ class ItemServiceImplTest {
         Integer from = 0;
         Integer size = 10;
         ItemDto itemDto = new ItemDto();
+        itemDto.setCommentCount(0L);
         itemDto.setComments(Collections.emptyList());
         ItemDto itemDto1 = new ItemDto();
+        itemDto1.setCommentCount(0L);
         itemDto1.setComments(Collections.emptyList());
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(itemRepository.findAllByOwner_Id(anyLong(), any()))
+        when(itemRepository.findAllByOwner_IdOrderByIdAsc(anyLong(), any()))
                 .thenReturn(List.of(new Item(), new Item()));
-        when(bookingRepository.findAllByItemInAndStatusIsOrderByIdAsc(any(), any()))
+        when(bookingRepository.findLastAndNextBookings(any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(commentRepository.findAllByItemInOrderByCreatedAsc(any()))
+        when(commentRepository.findRecentComments(any(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemDto> result = itemService.findUserAllItems(userId, from, size);
@@ -479,8 +442,7 @@ class ItemServiceImplTest {
         Long userId = 1L;
         Integer from = 0;
         Integer size = 10;
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(itemRepository.findAllByOwner_Id(anyLong(), any())).thenReturn(Collections.emptyList());
+        when(itemRepository.findAllByOwner_IdOrderByIdAsc(anyLong(), any())).thenReturn(Collections.emptyList());
 
         List<ItemDto> result = itemService.findUserAllItems(userId, from, size);
 
@@ -492,7 +454,6 @@ class ItemServiceImplTest {
     void searchItemByNameAndDescriptionWhenTextNotEmptyThenReturnItemList() {
         Integer from = 0;
         Integer size = 10;
-        Pageable pageable = PageRequest.of(from, size);
         String text = "Ручка";
         User user = new User();
         user.setId(1L);
@@ -510,7 +471,7 @@ class ItemServiceImplTest {
         item2.setOwner(user);
         ItemDto itemDto = ItemMapper.toItemDto(item);
         ItemDto itemDto1 = ItemMapper.toItemDto(item2);
-        when(itemRepository.searchByText(text, pageable)).thenReturn(List.of(item, item2));
+        when(itemSearchIndex.search(text, 0, size)).thenReturn(List.of(itemDto, itemDto1));
 
         List<ItemDto> result = itemService.searchItemByNameAndDescription(text, from, size);
 
@@ -527,7 +488,257 @@ class ItemServiceImplTest {
         List<ItemDto> result = itemService.searchItemByNameAndDescription(text, from, size);
 
         assertEquals(Collections.emptyList(), result);
-        verify(itemRepository, never()).searchByText(anyString(), any());
+        verify(itemSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+
+    }
+
+    @Test
+    void findItemAvailabilityWhenBookingsInWindowThenSplitWindowIntoBusyAndFree() {
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 3, 10, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        List<BookingIntervalView> intervals = List.of(
+                intervalView(from.minusDays(1), from.plusDays(1)),
+                intervalView(from.plusDays(3), from.plusDays(4)),
+                intervalView(from.plusDays(4), from.plusDays(12)));
+        when(bookingRepository.findApprovedBookingIntervals(itemId, from, to)).thenReturn(intervals);
+
+        ItemAvailabilityDto result = itemService.findItemAvailability(itemId, 2L, from, to);
+
+        assertAll(
+                () -> assertEquals(result.getBusy(), List.of(
+                        new AvailabilityIntervalDto(from, from.plusDays(1)),
+                        new AvailabilityIntervalDto(from.plusDays(3), from.plusDays(4)),
+                        new AvailabilityIntervalDto(from.plusDays(4), to))),
+                () -> assertEquals(result.getFree(), List.of(
+                        new AvailabilityIntervalDto(from.plusDays(1), from.plusDays(3))))
+        );
+    }
+
+    @Test
+    void findItemAvailabilityWhenNoBookingsThenWholeWindowIsFree() {
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 3, 10, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(bookingRepository.findApprovedBookingIntervals(itemId, from, to)).thenReturn(Collections.emptyList());
+
+        ItemAvailabilityDto result = itemService.findItemAvailability(itemId, 2L, from, to);
+
+        assertAll(
+                () -> assertEquals(result.getBusy(), Collections.emptyList()),
+                () -> assertEquals(result.getFree(), List.of(new AvailabilityIntervalDto(from, to)))
+        );
+    }
+
+    @Test
+    void findItemAvailabilityWhenWindowIsEmptyThenThrowIncorrectRequestParamsException() {
+        LocalDateTime from = LocalDateTime.of(2023, 3, 10, 0, 0);
+
+        assertThrows(IncorrectRequestParamsException.class,
+                () -> itemService.findItemAvailability(1L, 2L, from, from));
+
+        verify(bookingRepository, never()).findApprovedBookingIntervals(anyLong(), any(), any());
+    }
+
+    @Test
+    void findItemCommentsWithoutCursorThenGetFirstPage() {
+        Long userId = 1L;
+        Long itemId = 1L;
+        CommentView comment = commentView(2L, itemId, "Test", "Author", LocalDateTime.now(), 2L);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findItemComments(itemId, PageRequest.of(0, 1))).thenReturn(List.of(comment));
+
+        List<CommentDto> result = itemService.findItemComments(itemId, userId, null, 1);
+
+        verify(commentRepository, never()).findItemCommentsBefore(anyLong(), any(), anyLong(), any());
+        assertEquals(result, List.of(CommentMapper.toCommentDto(comment)));
+    }
+
+    @Test
+    void findItemCommentsWithCursorThenGetPageAfterCursor() {
+        Long userId = 1L;
+        Long itemId = 1L;
+        LocalDateTime created = LocalDateTime.now();
+        CommentView comment = commentView(1L, itemId, "Test", "Author", created.minusDays(1), 2L);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findItemCommentsBefore(itemId, created, 2L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(comment));
+
+        List<CommentDto> result = itemService.findItemComments(itemId, userId, new KeysetCursor(created, 2L), 1);
+
+        verify(commentRepository, never()).findItemComments(anyLong(), any());
+        assertEquals(result, List.of(CommentMapper.toCommentDto(comment)));
+    }
+
+    @Test
+    void findItemCommentsWhenItemNotFoundThenThrowException() {
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> itemService.findItemComments(1L, 1L, null, 10));
+        verifyNoInteractions(commentRepository);
+    }
+
+    private CommentForItemView commentView(Long id, Long itemId, String text, String authorName,
+                                           LocalDateTime created, Long total) {
+        CommentForItemView comment = mock(CommentForItemView.class);
+        lenient().when(comment.getId()).thenReturn(id);
+        lenient().when(comment.getItemId()).thenReturn(itemId);
+        lenient().when(comment.getText()).thenReturn(text);
+        lenient().when(comment.getAuthorName()).thenReturn(authorName);
+        lenient().when(comment.getCreated()).thenReturn(created);
+        lenient().when(comment.getTotal()).thenReturn(total);
+        return comment;
+    }
+
+    private BookingIntervalView intervalView(LocalDateTime start, LocalDateTime end) {
+        BookingIntervalView interval = mock(BookingIntervalView.class);
+        when(interval.getStartTime()).thenReturn(start);
+        when(interval.getEndTime()).thenReturn(end);
+        return interval;
+    }
+
+    private BookingForItemView bookingView(Long id, Long itemId, Long bookerId, LocalDateTime start,
+                                           LocalDateTime end, Boolean isLast) {
+        BookingForItemView booking = mock(BookingForItemView.class);
+        when(booking.getId()).thenReturn(id);
+        when(booking.getItemId()).thenReturn(itemId);
+        when(booking.getBookerId()).thenReturn(bookerId);
+        when(booking.getStartTime()).thenReturn(start);
+        when(booking.getEndTime()).thenReturn(end);
+        when(booking.getIsLast()).thenReturn(isLast);
+        return booking;
+    }
+
+    @Test
+    void createItemsWhenSomeItemsInvalidThenSaveOthersAndReportStatuses() {
+        Long userId = 1L;
+        User user = new User(1L, "test@test.ru", "Test");
+        ItemRequest request = new ItemRequest(1L, "Test", LocalDateTime.now());
+        ItemDto valid = new ItemDto(null, "Test", "Test", true);
+        ItemDto withRequest = new ItemDto(null, "Test", "Test", true);
+        withRequest.setRequestId(1L);
+        ItemDto withoutName = new ItemDto(null, "", "Test", true);
+        ItemDto withMissingRequest = new ItemDto(null, "Test", "Test", true);
+        withMissingRequest.setRequestId(2L);
+        when(userIdentityCache.getUserReference(userId)).thenReturn(user);
+        when(itemRequestRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(request));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(i + 1L);
+            }
+            return items;
+        });
+
+        List<ItemBatchResultDto> result = itemService.createItems(List.of(valid, withoutName, withRequest,
+                withMissingRequest), userId);
+
+        verify(userIdentityCache, times(1)).getUserReference(userId);
+        verify(itemRequestRepository, times(1)).findAllById(any());
+        verify(itemRepository, never()).save(any());
+        verify(itemSearchIndex, times(1)).indexAll(anyList());
+        assertAll(
+                () -> assertEquals(result.size(), 4),
+                () -> assertEquals(result.get(0).getStatus(), 200),
+                () -> assertEquals(result.get(0).getItem().getId(), 1L),
+                () -> assertEquals(result.get(1).getStatus(), 400),
+                () -> assertNull(result.get(1).getItem()),
+                () -> assertEquals(result.get(2).getStatus(), 200),
+                () -> assertEquals(result.get(2).getItem().getId(), 2L),
+                () -> assertEquals(result.get(2).getItem().getRequestId(), 1L),
+                () -> assertEquals(result.get(3).getStatus(), 404),
+                () -> assertEquals(result.get(3).getIndex(), 3)
+        );
+    }
+
+    @Test
+    void createItemsWhenBatchIsEmptyThenThrowIncorrectRequestParamsException() {
+        assertThrows(IncorrectRequestParamsException.class,
+                () -> itemService.createItems(Collections.emptyList(), 1L));
+
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void updateItemsWhenItemsOfDifferentOwnersThenUpdateOnlyOwnItems() {
+        Long userId = 1L;
+        User owner = new User(1L, "test@test.ru", "Test");
+        User stranger = new User(2L, "test2@test.ru", "Test2");
+        Item ownItem = new Item(1L, "Test", "Test", true, owner, null);
+        Item strangerItem = new Item(2L, "Test", "Test", true, stranger, null);
+        ItemDto ownUpdate = new ItemDto(1L, "Updated", null, false);
+        ItemDto strangerUpdate = new ItemDto(2L, "Updated", null, null);
+        ItemDto missingUpdate = new ItemDto(3L, "Updated", null, null);
+        ItemDto withoutId = new ItemDto(null, "Updated", null, null);
+        when(itemRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(ownItem, strangerItem));
+
+        List<ItemBatchResultDto> result = itemService.updateItems(List.of(ownUpdate, strangerUpdate, missingUpdate,
+                withoutId), userId);
+
+        verify(userIdentityCache, times(1)).checkUserExists(userId);
+        verify(itemRepository, times(1)).saveAll(Set.of(ownItem));
+        assertAll(
+                () -> assertEquals(result.get(0).getStatus(), 200),
+                () -> assertEquals(ownItem.getName(), "Updated"),
+                () -> assertEquals(ownItem.getDescription(), "Test"),
+                () -> assertFalse(ownItem.getAvailable()),
+                () -> assertEquals(result.get(1).getStatus(), 404),
+                () -> assertEquals(strangerItem.getName(), "Test"),
+                () -> assertEquals(result.get(2).getStatus(), 404),
+                () -> assertEquals(result.get(3).getStatus(), 400)
+        );
+    }
+
+    @Test
+    void createItemsWhenBatchContainsNullThenReportItAndSaveOthers() {
+        Long userId = 1L;
+        User user = new User(1L, "test@test.ru", "Test");
+        ItemDto withRequest = new ItemDto(null, "Test", "Test", true);
+        withRequest.setRequestId(1L);
+        ItemRequest request = new ItemRequest(1L, "Test", LocalDateTime.now());
+        when(userIdentityCache.getUserReference(userId)).thenReturn(user);
+        when(itemRequestRepository.findAllById(Set.of(1L))).thenReturn(List.of(request));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.get(0).setId(1L);
+            return items;
+        });
+
+        List<ItemBatchResultDto> result = itemService.createItems(Arrays.asList(null, withRequest), userId);
+
+        assertAll(
+                () -> assertEquals(result.get(0).getStatus(), 400),
+                () -> assertEquals(result.get(1).getStatus(), 200),
+                () -> assertEquals(result.get(1).getItem().getRequestId(), 1L)
+        );
+    }
+
+    @Test
+    void updateItemsWhenBatchContainsNullThenReportItAndUpdateOthers() {
+        Long userId = 1L;
+        User owner = new User(1L, "test@test.ru", "Test");
+        Item ownItem = new Item(1L, "Test", "Test", true, owner, null);
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(ownItem));
+
+        List<ItemBatchResultDto> result = itemService.updateItems(Arrays.asList(null,
+                new ItemDto(1L, "Updated", null, null)), userId);
+
+        verify(itemRepository, times(1)).saveAll(Set.of(ownItem));
+        assertAll(
+                () -> assertEquals(result.get(0).getStatus(), 400),
+                () -> assertEquals(result.get(1).getStatus(), 200),
+                () -> assertEquals(ownItem.getName(), "Updated")
+        );
+    }
+
+    @Test
+    void updateItemsWhenBatchIsTooLargeThenThrowIncorrectRequestParamsException() {
+        List<ItemDto> itemDtos = Collections.nCopies(5001, new ItemDto(1L, "Updated", null, null));
+
+        assertThrows(IncorrectRequestParamsException.class, () -> itemService.updateItems(itemDtos, 1L));
 
+        verify(itemRepository, never()).findAllById(any());
     }
 }
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyMetricsAspectTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookingService timedBookingService;
+
+    private ItemRepository timedItemRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        LatencyMetricsAspect aspect = new LatencyMetricsAspect(meterRegistry);
+        timedBookingService = proxy(bookingService, aspect);
+        timedItemRepository = proxy(itemRepository, aspect);
+    }
+
+    @Test
+    void findOwnerBookingsWhenCalledThenTimeServiceAndRepositoryWithState() {
+        when(bookingService.findOwnerBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    timedItemRepository.getOwnerId(1L);
+                    return Collections.emptyList();
+                });
+
+        timedBookingService.findOwnerBookings(1L, BookingState.FUTURE, 0, 10);
+        timedItemRepository.getOwnerId(1L);
+
+        assertAll(
+                () -> assertEquals(meterRegistry.get(LatencyMetricsAspect.SERVICE_TIMER)
+                        .tag("method", "findOwnerBookings").tag("state", "FUTURE")
+                        .tag("exception", "none").timer().count(), 1L),
+                () -> assertEquals(meterRegistry.get(LatencyMetricsAspect.REPOSITORY_TIMER)
+                        .tag("repository", "ItemRepository").tag("method", "getOwnerId")
+                        .tag("state", "FUTURE").timer().count(), 1L),
+                () -> assertEquals(meterRegistry.get(LatencyMetricsAspect.REPOSITORY_TIMER)
+                        .tag("repository", "ItemRepository").tag("method", "getOwnerId")
+                        .tag("state", "none").timer().count(), 1L)
+        );
+    }
+
+    @Test
+    void findByIdWhenServiceThrowsThenTagException() {
+        when(bookingService.findById(1L, 1L)).thenThrow(new ObjectNotFoundException("Нет аренды с таким номером"));
+
+        assertThrows(ObjectNotFoundException.class, () -> timedBookingService.findById(1L, 1L));
+
+        assertEquals(meterRegistry.get(LatencyMetricsAspect.SERVICE_TIMER)
+                .tag("method", "findById").tag("state", "none")
+                .tag("exception", "ObjectNotFoundException").timer().count(), 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, LatencyMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Валит тест, если хотя бы один HTTP запрос теста превысил @SqlStatementBudget своего эндпоинта.
+ */
+public class SqlStatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        interceptor(context).drainViolations();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<String> violations = interceptor(context).drainViolations();
+        if (!violations.isEmpty()) {
+            fail("Превышен бюджет SQL запросов: " + String.join("; ", violations));
+        }
+    }
+
+    private static SqlStatementBudgetInterceptor interceptor(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlStatementBudgetInterceptor.class);
+    }
+}
@@ -0,0 +1,213 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "shareit.sql-statements.header=true")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SqlStatementBudgetExtension.class)
+class SqlStatementBudgetTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private User owner;
+
+    private User requestor;
+
+    private final List<User> bookers = new ArrayList<>();
+
+    private final List<Item> items = new ArrayList<>();
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    private final List<ItemRequest> requests = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@budget.ru"));
+        requestor = userRepository.save(new User(null, "Requestor", "requestor@budget.ru"));
+        for (int i = 0; i < 3; i++) {
+            bookers.add(userRepository.save(new User(null, "Booker" + i, "booker" + i + "@budget.ru")));
+        }
+        for (int i = 0; i < 3; i++) {
+            ItemRequest request = new ItemRequest(null, "Нужна вещь " + i, LocalDateTime.now().minusDays(i));
+            request.setRequestor(requestor);
+            requests.add(itemRequestRepository.save(request));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            Item item = itemRepository.save(new Item(null, "Вещь " + i, "Описание " + i, true, owner,
+                    requests.get(i % requests.size())));
+            items.add(item);
+            User booker = bookers.get(i % bookers.size());
+            bookings.add(bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                    Status.APPROVED, booker, item)));
+            bookings.add(bookingRepository.save(new Booking(null, now.plusDays(i + 1), now.plusDays(i + 2),
+                    Status.WAITING, booker, item)));
+            commentRepository.save(new Comment(null, booker, item, "Комментарий " + i, now.minusDays(1)));
+        }
+    }
+
+    @Test
+    void createItem() throws Exception {
+        perform(post("/items").header(USER_HEADER, owner.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Новая\",\"description\":\"Новая вещь\",\"available\":true,\"requestId\":"
+                        + requests.get(0).getId() + "}"));
+    }
+
+    @Test
+    void updateItem() throws Exception {
+        perform(patch("/items/{itemId}", items.get(0).getId()).header(USER_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"Обновленное описание\"}"));
+    }
+
+    @Test
+    void findItemByIdAsOwner() throws Exception {
+        perform(get("/items/{itemId}", items.get(1).getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void findItemByIdAsBooker() throws Exception {
+        perform(get("/items/{itemId}", items.get(1).getId()).header(USER_HEADER, bookers.get(1).getId()));
+    }
+
+    @Test
+    void findUserAllItems() throws Exception {
+        perform(get("/items").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void searchItems() throws Exception {
+        perform(get("/items/search").param("text", "вещь"));
+    }
+
+    @Test
+    void findItemAvailability() throws Exception {
+        perform(get("/items/{itemId}/availability", items.get(4).getId()).header(USER_HEADER, bookers.get(1).getId())
+                .param("from", LocalDateTime.now().minusDays(5).toString()));
+    }
+
+    @Test
+    void addComment() throws Exception {
+        perform(post("/items/{itemId}/comment", items.get(2).getId()).header(USER_HEADER, bookers.get(2).getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"Отличная вещь\"}"));
+    }
+
+    @Test
+    void createBooking() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        perform(post("/bookings").header(USER_HEADER, bookers.get(0).getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"itemId\":" + items.get(3).getId() + ",\"start\":\"" + start
+                        + "\",\"end\":\"" + start.plusDays(1) + "\"}"));
+    }
+
+    @Test
+    void approveBooking() throws Exception {
+        perform(patch("/bookings/{bookingId}", bookings.get(9).getId()).header(USER_HEADER, owner.getId())
+                .param("approved", "true"));
+    }
+
+    @Test
+    void findBookingById() throws Exception {
+        perform(get("/bookings/{bookingId}", bookings.get(1).getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void findUserBookings() throws Exception {
+        for (String state : new String[]{"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"}) {
+            perform(get("/bookings").header(USER_HEADER, bookers.get(0).getId()).param("state", state));
+        }
+    }
+
+    @Test
+    void findOwnerBookings() throws Exception {
+        for (String state : new String[]{"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"}) {
+            perform(get("/bookings/owner").header(USER_HEADER, owner.getId()).param("state", state));
+        }
+    }
+
+    @Test
+    void bookingPageIsReadWithOneStatement() throws Exception {
+        perform(get("/bookings/owner").header(USER_HEADER, owner.getId()));
+
+        mvc.perform(get("/bookings/owner").header(USER_HEADER, owner.getId()).param("size", "12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(12))
+                .andExpect(header().string(SqlStatementCountHeaderAdvice.SQL_STATEMENT_COUNT_HEADER, "1"));
+        mvc.perform(get("/bookings").header(USER_HEADER, bookers.get(0).getId()).param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(header().string(SqlStatementCountHeaderAdvice.SQL_STATEMENT_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void createItemRequest() throws Exception {
+        perform(post("/requests").header(USER_HEADER, requestor.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"Нужна дрель\"}"));
+    }
+
+    @Test
+    void findRequestById() throws Exception {
+        perform(get("/requests/{requestId}", requests.get(0).getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void findAllUserRequests() throws Exception {
+        perform(get("/requests").header(USER_HEADER, requestor.getId()));
+    }
+
+    @Test
+    void findAllRequests() throws Exception {
+        perform(get("/requests/all").header(USER_HEADER, owner.getId()));
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mvc.perform(request).andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementCountHeaderAdvice.SQL_STATEMENT_COUNT_HEADER));
+    }
+}
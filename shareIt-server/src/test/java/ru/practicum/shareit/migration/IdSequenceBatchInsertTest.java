@@ -0,0 +1,63 @@
+package ru.practicum.shareit.migration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сохраняет больше 50 строк в схему H2 после миграции V5: id выдаются блоками последовательности users_seq,
+ * а INSERT уходят пачками по hibernate.jdbc.batch_size.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class IdSequenceBatchInsertTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllWhenMoreRowsThanSequenceBlockThenIdsAreUniqueAndInsertsAreBatched() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(new User(null, "User" + i, "user" + i + "@batch.ru"));
+        }
+
+        List<Long> ids = userRepository.saveAll(users).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+        userRepository.flush();
+        Number rows = (Number) entityManager.createNativeQuery("SELECT count(*) FROM USERS").getSingleResult();
+
+        assertAll(
+                () -> assertEquals(ids.stream().distinct().count(), (long) ROWS),
+                () -> assertEquals(rows.longValue(), (long) ROWS),
+                () -> assertEquals(statistics.getEntityInsertCount(), (long) ROWS),
+                () -> assertTrue(statistics.getPrepareStatementCount() <= 10,
+                        "Подготовлено запросов: " + statistics.getPrepareStatementCount())
+        );
+    }
+}
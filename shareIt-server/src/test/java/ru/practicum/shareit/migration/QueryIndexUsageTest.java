@@ -0,0 +1,245 @@
+package ru.practicum.shareit.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Выполняет запросы репозиториев на PostgreSQL с миграциями V1-V7 и проверяет по статистике текущей транзакции
+ * (pg_stat_get_xact_numscans), что запрос действительно прочитал индекс, созданный для него в V2, V3 или V6.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryIndexUsageTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void fillTables() {
+        for (String sql : List.of(
+                "INSERT INTO users (id, name, email) SELECT x, 'user' || x, 'user' || x || '@mail.ru' " +
+                        "FROM generate_series(1, 200) x",
+                "INSERT INTO requests (id, requestor_id, description, create_time) " +
+                        "SELECT x, x % 200 + 1, 'request', now() FROM generate_series(1, 1000) x",
+                "INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                        "SELECT x, 'item', 'description', TRUE, x % 200 + 1, x % 1000 + 1 FROM generate_series(1, 2000) x",
+                "INSERT INTO booking (id, start_time, end_time, status, booker_id, item_id) " +
+                        "SELECT x, now() + x * interval '1 hour', now() + (x + 1) * interval '1 hour', " +
+                        "CASE x % 3 WHEN 0 THEN 'APPROVED' WHEN 1 THEN 'WAITING' ELSE 'REJECTED' END, " +
+                        "x % 200 + 1, x % 2000 + 1 FROM generate_series(1, 20000) x",
+                "INSERT INTO comments (id, author_id, item_id, text, created) " +
+                        "SELECT x, x % 200 + 1, x % 2000 + 1, 'comment', now() FROM generate_series(1, 10000) x",
+                "ANALYZE")) {
+            entityManager.createNativeQuery(sql).executeUpdate();
+        }
+    }
+
+    @Test
+    void migrationsCreateQueryIndexes() {
+        List<?> indexes = entityManager.createNativeQuery("SELECT upper(indexname) FROM pg_indexes " +
+                "WHERE schemaname = 'public'").getResultList();
+
+        assertTrue(indexes.containsAll(List.of("ITEMS_OWNER_IDX", "ITEMS_REQUEST_IDX", "REQUESTS_REQUESTOR_IDX",
+                "COMMENTS_ITEM_CREATED_IDX", "BOOKING_BOOKER_START_IDX", "BOOKING_BOOKER_STATUS_START_IDX",
+                "BOOKING_ITEM_START_IDX", "BOOKING_ITEM_BOOKER_END_IDX", "BOOKING_ITEM_APPROVED_START_IDX")),
+                indexes.toString());
+    }
+
+    @Test
+    void findUserBookingsUsesIndex() {
+        bookingRepository.findAllUsersBookings(1L, PageRequest.of(0, 10));
+
+        assertIndexesUsed("BOOKING_BOOKER_START_IDX");
+    }
+
+    @Test
+    void findUserBookingsBeforeUsesIndex() {
+        bookingRepository.findAllUsersBookingsBefore(1L, LocalDateTime.now().plusYears(1), 1L, PageRequest.of(0, 10));
+
+        assertIndexesUsed("BOOKING_BOOKER_START_IDX");
+    }
+
+    @Test
+    void findUserBookingsByStatusUsesIndex() {
+        bookingRepository.findWaitingUserBookings(1L, PageRequest.of(0, 10));
+
+        assertIndexesUsed("BOOKING_BOOKER_STATUS_START_IDX");
+    }
+
+    @Test
+    void findOwnerBookingsUsesIndexes() {
+        bookingRepository.findAllOwnerBookings(1L, PageRequest.of(0, 10));
+
+        // заявки по найденным предметам читаются любым индексом с ITEM_ID в начале, а не полным просмотром
+        assertIndexesUsed("ITEMS_OWNER_IDX");
+        assertNoSequentialScan("booking");
+    }
+
+    @Test
+    void findLastAndNextBookingsUsesIndex() {
+        bookingRepository.findLastAndNextBookings(List.of(1L, 2L), LocalDateTime.now().plusDays(100));
+
+        // одобренные бронирования предметов читаются BOOKING_ITEM_APPROVED_START_IDX или частичным индексом
+        // ограничения BOOKING_NO_OVERLAP_EXCL (V7) - оба содержат только APPROVED, выбор за планировщиком
+        assertNoSequentialScan("booking");
+    }
+
+    @Test
+    void findApprovedBookingIntervalsUsesIndex() {
+        bookingRepository.findApprovedBookingIntervals(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(30));
+
+        assertIndexesUsed("BOOKING_ITEM_APPROVED_START_IDX");
+    }
+
+    @Test
+    void countApprovedOverlapsUsesIndex() {
+        bookingRepository.countApprovedOverlaps(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1), 0L);
+
+        assertIndexesUsed("BOOKING_ITEM_APPROVED_START_IDX");
+    }
+
+    @Test
+    void approveByOwnerUsesIndexes() {
+        int updated = bookingRepository.approveByOwner(1L, 3L);
+
+        assertEquals(updated, 1);
+        assertNoSequentialScan("booking");
+    }
+
+    @Test
+    void overlapConstraintAppliesOnlyToApprovedBookings() {
+        String insert = "INSERT INTO booking (id, start_time, end_time, status, booker_id, item_id) " +
+                "VALUES (?1, now() - interval '10 years', now() - interval '10 years' + interval '1 day', ?2, 1, 1)";
+        entityManager.createNativeQuery(insert).setParameter(1, 100001L).setParameter(2, "WAITING").executeUpdate();
+        entityManager.createNativeQuery(insert).setParameter(1, 100002L).setParameter(2, "WAITING").executeUpdate();
+        entityManager.createNativeQuery(insert).setParameter(1, 100003L).setParameter(2, "APPROVED").executeUpdate();
+
+        assertThrows(PersistenceException.class, () -> entityManager.createNativeQuery(insert)
+                .setParameter(1, 100004L).setParameter(2, "APPROVED").executeUpdate());
+    }
+
+    @Test
+    void bookingsBeforeNowCountUsesIndex() {
+        bookingRepository.bookingsBeforeNowCount(1L, 1L, LocalDateTime.now());
+
+        assertIndexesUsed("BOOKING_ITEM_BOOKER_END_IDX");
+    }
+
+    @Test
+    void findUserAllItemsUsesIndex() {
+        itemRepository.findAllByOwner_IdOrderByIdAsc(1L, PageRequest.of(0, 10));
+
+        assertIndexesUsed("ITEMS_OWNER_IDX");
+    }
+
+    @Test
+    void findItemsForRequestsUsesIndex() {
+        itemRepository.findItemsForRequests(List.of(1L, 2L));
+
+        assertIndexesUsed("ITEMS_REQUEST_IDX");
+    }
+
+    @Test
+    void findRecentCommentsUsesIndex() {
+        List<CommentForItemView> comments = commentRepository.findRecentComments(List.of(1L, 2L), 3);
+
+        assertEquals(comments.stream().map(CommentForItemView::getItemId).collect(Collectors.toList()),
+                List.of(1L, 1L, 1L, 2L, 2L, 2L));
+        assertTrue(comments.stream().allMatch(comment -> comment.getTotal() == 5L));
+        assertIndexesUsed("COMMENTS_ITEM_CREATED_IDX");
+        assertNoSequentialScan("comments");
+    }
+
+    @Test
+    void findItemCommentsUsesIndex() {
+        commentRepository.findItemComments(1L, PageRequest.of(0, 10));
+
+        assertIndexesUsed("COMMENTS_ITEM_CREATED_IDX");
+    }
+
+    @Test
+    void findUserRequestsUsesIndex() {
+        itemRequestRepository.findAllByRequestorOrderByIdAsc(entityManager.getReference(User.class, 1L));
+
+        assertIndexesUsed("REQUESTS_REQUESTOR_IDX");
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void assertIndexesUsed(String... indexes) {
+        for (String index : indexes) {
+            Number scans = (Number) entityManager.createNativeQuery(
+                            "SELECT pg_stat_get_xact_numscans(CAST(lower(?1) AS regclass))")
+                    .setParameter(1, index)
+                    .getSingleResult();
+
+            assertTrue(scans.longValue() > 0, "Запрос не использовал индекс " + index);
+        }
+    }
+
+    private void assertNoSequentialScan(String table) {
+        Number scans = (Number) entityManager.createNativeQuery(
+                        "SELECT pg_stat_get_xact_numscans(CAST(?1 AS regclass))")
+                .setParameter(1, table)
+                .getSingleResult();
+
+        assertEquals(0, scans.longValue(), "Запрос полностью просмотрел таблицу " + table);
+    }
+}
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -18,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
@@ -173,11 +177,13 @@ class ItemRequestControllerTest {
         ItemRequestDto responseRequest2 = new ItemRequestDto(2L, "Test2",
                 LocalDateTime.now().minusDays(1), List.of(item3));
         List<ItemRequestDto> expectedResult = List.of(responseRequest1, responseRequest2);
-        when(itemRequestService.findAllRequests(anyLong(), anyInt(), anyInt())).thenReturn(expectedResult);
+        when(itemRequestService.findAllRequests(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(expectedResult, PageRequest.of(0, 10), true));
 
         String result = mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER, new KeysetCursor(null, 2L).encode()))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
@@ -186,4 +192,23 @@ class ItemRequestControllerTest {
         verify(itemRequestService, times(1))
                 .findAllRequests(anyLong(), anyInt(), anyInt());
     }
+
+    @SneakyThrows
+    @Test
+    void findAllRequestsWithCursor() {
+        Long userId = 1L;
+        ItemRequestDto responseRequest = new ItemRequestDto(3L, "Test3",
+                LocalDateTime.now().minusDays(1), List.of());
+        when(itemRequestService.findAllRequests(anyLong(), any(KeysetCursor.class), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(responseRequest), PageRequest.of(0, 1), false));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("cursor", new KeysetCursor(null, 2L).encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER));
+
+        verify(itemRequestService, never()).findAllRequests(anyLong(), anyInt(), anyInt());
+    }
 }
\ No newline at end of file
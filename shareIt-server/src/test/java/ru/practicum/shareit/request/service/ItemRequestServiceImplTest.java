@@ -5,22 +5,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import ru.practicum.shareit.exception.EmptyRequestDescriptionException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.OwnerIdAndUserIdException;
-import ru.practicum.shareit.exception.UserNotAuthorizedException;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -35,10 +35,7 @@ import static org.mockito.Mockito.*;
 class ItemRequestServiceImplTest {
 
     @Mock
-    private CustomValidator customValidator;
-
-    @Mock
-    private UserRepository userRepository;
+    private UserIdentityCache userIdentityCache;
 
     @Mock
     private ItemRequestRepository itemRequestRepository;
@@ -61,7 +58,7 @@ class ItemRequestServiceImplTest {
         expectedResult.setItems(Collections.emptyList());
         ItemRequestDto requestDto = new ItemRequestDto();
         requestDto.setDescription("Test");
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(user);
         when(itemRequestRepository.save(any())).thenReturn(itemRequest);
 
         ItemRequestDto result = itemRequestService.createRequest(requestDto, userId);
@@ -71,32 +68,15 @@ class ItemRequestServiceImplTest {
     }
 
     @Test
-    void createRequestWhenRequestIsNotValidThenSaveAndReturnRequest() {
-        Long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        ItemRequestDto requestDto = new ItemRequestDto();
-        doThrow(EmptyRequestDescriptionException.class).when(customValidator).isRequestValid(requestDto);
-
-        assertThrows(EmptyRequestDescriptionException.class,
-                () -> itemRequestService.createRequest(requestDto, userId));
-
-        verify(userRepository, never()).findById(anyLong());
-        verify(itemRequestRepository, never()).save(any());
-
-    }
-
-    @Test
-    void createRequestWhenUserNotAutorizedThenThrowUserNotAuthorized() {
-        Long userId = 0L;
-        User user = new User();
-        user.setId(userId);
+    void createRequestWhenUserNotFoundThenThrowObjectNotFoundException() {
+        Long userId = 99L;
         ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setDescription("Test");
+        when(userIdentityCache.getUserReference(userId)).thenThrow(ObjectNotFoundException.class);
 
-        assertThrows(UserNotAuthorizedException.class,
+        assertThrows(ObjectNotFoundException.class,
                 () -> itemRequestService.createRequest(requestDto, userId));
 
-        verify(userRepository, never()).findById(anyLong());
         verify(itemRequestRepository, never()).save(any());
     }
 
@@ -116,7 +96,6 @@ class ItemRequestServiceImplTest {
         expectedResult.setItems(Collections.emptyList());
         ItemRequestDto requestDto = new ItemRequestDto();
         requestDto.setDescription("Renamed");
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
         when(itemRequestRepository.save(updatedRequest)).thenReturn(updatedRequest);
 
@@ -134,7 +113,6 @@ class ItemRequestServiceImplTest {
         ItemRequest itemRequest = new ItemRequest(requestId, "Test",
                 LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
         itemRequest.setRequestor(user);
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
 
         assertThrows(OwnerIdAndUserIdException.class,
@@ -149,7 +127,6 @@ class ItemRequestServiceImplTest {
         Long requestId = 0L;
         User user = new User();
         user.setId(userId);
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.ofNullable(null));
 
         assertThrows(ObjectNotFoundException.class,
@@ -163,7 +140,6 @@ class ItemRequestServiceImplTest {
         Long userId = 1L;
         Long requestId = 1L;
         String expectedResult = "Запрос успешно удален";
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRequestRepository.existsById(requestId)).thenReturn(true);
         when(itemRequestRepository.getRequestorId(requestId)).thenReturn(1L);
 
@@ -177,7 +153,6 @@ class ItemRequestServiceImplTest {
     void deleteItemRequestWhenUserIsNotRequestorThenThrowOwnerException() {
         Long userId = 1L;
         Long requestId = 1L;
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRequestRepository.existsById(requestId)).thenReturn(true);
         when(itemRequestRepository.getRequestorId(requestId)).thenReturn(2L);
 
@@ -207,10 +182,9 @@ class ItemRequestServiceImplTest {
         ItemForRequestDto itemDto2 = ItemMapper.toItemForRequestDto(requestedItem2);
         ItemRequestDto expectedResult = RequestMapper.toItemRequestDto(itemRequest);
         expectedResult.setItems(List.of(itemDto1, itemDto2));
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
-        when(itemRepository.findAllByRequestInOrderByIdAsc(anyList()))
-                .thenReturn(List.of(requestedItem1, requestedItem2));
+        when(itemRepository.findItemsForRequests(anyList()))
+                .thenReturn(List.of(itemDto1, itemDto2));
 
         ItemRequestDto result = itemRequestService.findRequestById(requestId, userId);
 
@@ -222,13 +196,12 @@ class ItemRequestServiceImplTest {
     void findRequestByIdWhenRequestIsNotExistThenThrowObNFException() {
         Long userId = 1L;
         Long requestId = 1L;
-        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.ofNullable(null));
 
         assertThrows(ObjectNotFoundException.class,
                 () -> itemRequestService.findRequestById(requestId, userId));
 
-        verify(itemRepository, never()).findAllByRequestInOrderByIdAsc(any());
+        verify(itemRepository, never()).findItemsForRequests(any());
 
     }
 
@@ -259,11 +232,11 @@ class ItemRequestServiceImplTest {
         ItemRequestDto itemRequestDto2 = RequestMapper.toItemRequestDto(itemRequest2);
         itemRequestDto2.setItems(List.of(requestedItemDto3));
         List<ItemRequestDto> expectedResult = List.of(itemRequestDto1, itemRequestDto2);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userOwner));
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(userOwner);
         when(itemRequestRepository.findAllByRequestorOrderByIdAsc(any()))
                 .thenReturn(List.of(itemRequest, itemRequest2));
-        when(itemRepository.findAllByRequestInOrderByIdAsc(anyList()))
-                .thenReturn(List.of(requestedItem1, requestedItem2, requestedItem3));
+        when(itemRepository.findItemsForRequests(anyList()))
+                .thenReturn(List.of(requestedItemDto1, requestedItemDto2, requestedItemDto3));
 
         List<ItemRequestDto> result = itemRequestService.findAllUserRequests(userId);
 
@@ -305,16 +278,38 @@ class ItemRequestServiceImplTest {
         itemRequestDto3.setItems(Collections.emptyList());
         List<ItemRequestDto> expectedResult = List.of(itemRequestDto1, itemRequestDto2, itemRequestDto3);
         List<ItemRequest> requestsToFind = List.of(itemRequest, itemRequest2, itemRequest3);
-        Page<ItemRequest> pagedRequests = new PageImpl<>(requestsToFind);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userRequestor));
+        Slice<ItemRequest> pagedRequests = new SliceImpl<>(requestsToFind, PageRequest.of(from, size), false);
+        when(userIdentityCache.getUserReference(anyLong())).thenReturn(userRequestor);
         when(itemRequestRepository.findAllByRequestorIsNotOrderByIdAsc(any(), any()))
                 .thenReturn(pagedRequests);
-        when(itemRepository.findAllByRequestInOrderByIdAsc(anyList()))
-                .thenReturn(List.of(requestedItem1, requestedItem2, requestedItem3));
+        when(itemRepository.findItemsForRequests(anyList()))
+                .thenReturn(List.of(requestedItemDto1, requestedItemDto2, requestedItemDto3));
 
-        List<ItemRequestDto> result = itemRequestService.findAllRequests(userId, from, size);
+        Slice<ItemRequestDto> result = itemRequestService.findAllRequests(userId, from, size);
 
-        assertEquals(expectedResult, result);
+        assertEquals(expectedResult, result.getContent());
+        assertFalse(result.hasNext());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllRequestsWithCursorThenReturnRequestsAfterCursor() {
+        Long userId = 1L;
+        User userRequestor = new User();
+        userRequestor.setId(1L);
+        ItemRequest itemRequest = new ItemRequest(6L, "Test",
+                LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+        ItemRequestDto itemRequestDto = RequestMapper.toItemRequestDto(itemRequest);
+        itemRequestDto.setItems(Collections.emptyList());
+        when(userIdentityCache.getUserReference(userId)).thenReturn(userRequestor);
+        when(itemRequestRepository.findAllByRequestorIsNotAndIdGreaterThanOrderByIdAsc(userRequestor, 5L,
+                PageRequest.of(0, 1))).thenReturn(new SliceImpl<>(List.of(itemRequest), PageRequest.of(0, 1), true));
+        when(itemRepository.findItemsForRequests(anyList())).thenReturn(Collections.emptyList());
+
+        Slice<ItemRequestDto> result = itemRequestService.findAllRequests(userId, new KeysetCursor(null, 5L), 1);
+
+        verify(itemRequestRepository, never()).findAllByRequestorIsNotOrderByIdAsc(any(), any());
+        assertEquals(List.of(itemRequestDto), result.getContent());
+        assertTrue(result.hasNext());
+    }
+}
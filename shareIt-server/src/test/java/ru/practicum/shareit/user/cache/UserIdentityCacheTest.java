@@ -0,0 +1,95 @@
+package ru.practicum.shareit.user.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserIdentityCache userIdentityCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userIdentityCache = new UserIdentityCache(userRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void checkUserExistsWhenCalledTwiceThenQueryRepositoryOnce() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        userIdentityCache.checkUserExists(userId);
+        userIdentityCache.checkUserExists(userId);
+
+        verify(userRepository, times(1)).existsById(userId);
+        assertAll(
+                () -> assertEquals(meterRegistry.get("cache.gets").tag("cache", "users")
+                        .tag("result", "hit").functionCounter().count(), 1.0),
+                () -> assertEquals(meterRegistry.get("cache.gets").tag("cache", "users")
+                        .tag("result", "miss").functionCounter().count(), 1.0)
+        );
+    }
+
+    @Test
+    void checkUserExistsWhenUserNotExistThenThrowObjectNotFoundException() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> userIdentityCache.checkUserExists(userId));
+        assertThrows(ObjectNotFoundException.class, () -> userIdentityCache.checkUserExists(userId));
+
+        verify(userRepository, times(1)).existsById(userId);
+    }
+
+    @Test
+    void checkUserExistsWhenInvalidatedThenQueryRepositoryAgain() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(false, true);
+
+        assertThrows(ObjectNotFoundException.class, () -> userIdentityCache.checkUserExists(userId));
+        userIdentityCache.invalidate(userId);
+        userIdentityCache.checkUserExists(userId);
+
+        verify(userRepository, times(2)).existsById(userId);
+    }
+
+    @Test
+    void getUserReferenceWhenUserExistThenReturnReference() {
+        Long userId = 1L;
+        User user = new User(userId, "Test", "test@test.ru");
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+
+        User result = userIdentityCache.getUserReference(userId);
+
+        assertEquals(result, user);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserReferenceWhenUserNotExistThenThrowObjectNotFoundException() {
+        Long userId = 1L;
+
+        assertThrows(ObjectNotFoundException.class, () -> userIdentityCache.getUserReference(userId));
+
+        verify(userRepository, never()).getReferenceById(anyLong());
+    }
+}
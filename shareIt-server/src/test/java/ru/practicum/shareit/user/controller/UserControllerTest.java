@@ -7,9 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -33,7 +36,7 @@ class UserControllerTest {
     @SneakyThrows
     @Test
     void createUser() {
-        UserDto userDto = new UserDto("test@test.ru", "Test");
+        UserDto userDto = new UserDto(null, "test@test.ru", "Test");
         String requestBody = objectMapper.writeValueAsString(userDto);
         UserDto returnedResult = userDto;
         returnedResult.setId(1L);
@@ -86,9 +89,9 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andReturn()
                 .getResponse()
-                .getContentAsString();
+                .getContentAsString(StandardCharsets.UTF_8);
 
-        assertEquals(returnedResult, result);
+        assertEquals("[\"" + returnedResult + "\"]", result);
         verify(userService, times(1))
                 .deleteUser(anyLong());
 
@@ -121,15 +124,59 @@ class UserControllerTest {
         UserDto userDto1 = new UserDto(1L, "test@mail.ru", "Test");
         UserDto userDto2 = new UserDto(2L, "test2@mail.ru", "Test2");
         List<UserDto> returnedResult = List.of(userDto1, userDto2);
-        when(userService.findAllUsers()).thenReturn(returnedResult);
+        when(userService.findAllUsers(0, 10)).thenReturn(returnedResult);
 
         String result = mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
 
         assertEquals(objectMapper.writeValueAsString(returnedResult), result);
-        verify(userService, times(1)).findAllUsers();
+        verify(userService, times(1)).findAllUsers(0, 10);
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllUsersWithSize() {
+        UserDto userDto3 = new UserDto(3L, "test3@mail.ru", "Test3");
+        when(userService.findAllUsers(anyInt(), anyInt())).thenReturn(List.of(userDto3));
+
+        mockMvc.perform(get("/users")
+                        .param("from", "2")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER, new KeysetCursor(null, 3L).encode()));
+
+        verify(userService, times(1)).findAllUsers(2, 1);
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllUsersWithCursorWithoutSize() {
+        when(userService.findAllUsers(any(KeysetCursor.class), anyInt())).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/users")
+                        .param("cursor", new KeysetCursor(null, 2L).encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER));
+
+        verify(userService, times(1)).findAllUsers(any(KeysetCursor.class), eq(10));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllUsersWithCursor() {
+        UserDto userDto3 = new UserDto(3L, "test3@mail.ru", "Test3");
+        when(userService.findAllUsers(any(KeysetCursor.class), anyInt())).thenReturn(List.of(userDto3));
+
+        mockMvc.perform(get("/users")
+                        .param("size", "1")
+                        .param("cursor", new KeysetCursor(null, 2L).encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER, new KeysetCursor(null, 3L).encode()));
+
+        verify(userService, never()).findAllUsers(anyInt(), anyInt());
     }
 }
\ No newline at end of file
@@ -7,8 +7,17 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.cache.UserIdentityCache;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -25,10 +34,16 @@ import static org.mockito.Mockito.*;
 class UserServiceImpTest {
 
     @Mock
-    private CustomValidator customValidator;
+    private UserRepository userRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
 
     @InjectMocks
     private UserServiceImp userService;
@@ -38,32 +53,20 @@ class UserServiceImpTest {
 
     @Test
     void createUserWhenUserIsValidThenSaveUser() {
-        UserDto testUser = new UserDto("test@test.ru", "Test");
+        UserDto testUser = new UserDto(null, "test@test.ru", "Test");
         User user = UserMapper.toUser(testUser);
         when(userRepository.save(user)).thenReturn(user);
 
         UserDto result = userService.createUser(testUser);
 
-        verify(customValidator, times(1)).isUserValid(testUser);
         assertEquals(testUser, result);
 
     }
 
-    @Test
-    void createUserWhenUserNotValidNameWhenThrowUserEmptyNameException() {
-        UserDto testUser = new UserDto("test@test.ru", "");
-        doThrow(UserEmptyNameException.class).when(customValidator).isUserValid(testUser);
-        User user = UserMapper.toUser(testUser);
-
-        assertThrows(UserEmptyNameException.class, () -> userService.createUser(testUser));
-
-        verify(userRepository, never()).save(user);
-    }
-
     @Test
     void updateUserWhenUserIsExistThenSaveUser() {
         Long userId = 1L;
-        UserDto testUser = new UserDto("test@test.ru", "Test");
+        UserDto testUser = new UserDto(null, "test@test.ru", "Test");
         UserDto newUser = new UserDto(1L, "test@test.ru", "Renamed");
         User user = UserMapper.toUser(newUser);
         user.setId(userId);
@@ -84,7 +87,7 @@ class UserServiceImpTest {
     @Test
     void updateUserWhenUserIsNotExistThenSaveUser() {
         Long userId = 0L;
-        UserDto testUser = new UserDto("test@test.ru", "Test");
+        UserDto testUser = new UserDto(null, "test@test.ru", "Test");
         User user = UserMapper.toUser(testUser);
 
         assertThrows(ObjectNotFoundException.class, () -> userService.updateUser(testUser, userId));
@@ -96,21 +99,25 @@ class UserServiceImpTest {
     @Test
     void deleteUserWhenUserExistThenDeleteUser() {
         Long userId = 0L;
-        when(userRepository.existsById(userId)).thenReturn(true);
 
         String result = userService.deleteUser(userId);
 
         assertEquals("Пользователь " + userId + " удален", result);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userIdentityCache, times(1)).invalidate(userId);
+        verify(entityCacheEvictor, times(1)).evictAfterCommit(Item.class, ItemRequest.class);
     }
 
     @Test
     void deleteUserWhenUserNotExistThenThrow() {
         Long userId = 0L;
+        doThrow(new ObjectNotFoundException("Пользователь не зарегестрирован"))
+                .when(userIdentityCache).checkUserExists(userId);
 
         assertThrows(ObjectNotFoundException.class, () -> userService.deleteUser(userId));
 
         verify(userRepository, never()).deleteById(userId);
+        verify(entityCacheEvictor, never()).evictAfterCommit(any());
 
     }
 
@@ -137,6 +144,28 @@ class UserServiceImpTest {
 
     }
 
+    @Test
+    void findAllUsersWhenFromIsOffsetThenRequestMatchingPage() {
+        when(userRepository.findAllByOrderByIdAsc(OffsetPageRequest.of(10, 5))).thenReturn(Collections.emptyList());
+
+        userService.findAllUsers(10, 5);
+
+        verify(userRepository, times(1)).findAllByOrderByIdAsc(OffsetPageRequest.of(10, 5));
+    }
+
+    @Test
+    void findAllUsersWhenFromNotMultipleOfSizeThenStartFromOffset() {
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        when(userRepository.findAllByOrderByIdAsc(page.capture())).thenReturn(Collections.emptyList());
+
+        userService.findAllUsers(5, 10);
+
+        assertAll(
+                () -> assertEquals(page.getValue().getOffset(), 5L),
+                () -> assertEquals(page.getValue().getPageSize(), 10)
+        );
+    }
+
     @Test
     void findAllUsersWhenUsersListNotEmptyThenGetUsersList() {
         UserDto testUser = new UserDto(0L, "test@test.ru", "Test");
@@ -145,9 +174,9 @@ class UserServiceImpTest {
         List<User> userList = List.of(testUser, testUser2, testUser3).stream()
                 .map(UserMapper::toUser)
                 .collect(Collectors.toList());
-        when(userRepository.findAll()).thenReturn(userList);
+        when(userRepository.findAllByOrderByIdAsc(OffsetPageRequest.of(0, 10))).thenReturn(userList);
 
-        List<UserDto> result = userService.findAllUsers();
+        List<UserDto> result = userService.findAllUsers(0, 10);
 
         assertAll(
                 () -> assertEquals(testUser, result.get(0)),
@@ -158,10 +187,22 @@ class UserServiceImpTest {
 
     @Test
     void findAllUsersWhenUsersListIsEmptyThenGetEmptyList() {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findAllByOrderByIdAsc(any())).thenReturn(Collections.emptyList());
 
-        List<UserDto> result = userService.findAllUsers();
+        List<UserDto> result = userService.findAllUsers(0, 10);
 
         assertEquals(Collections.emptyList(), result);
     }
+
+    @Test
+    void findAllUsersWithCursorThenGetUsersAfterCursor() {
+        UserDto testUser = new UserDto(3L, "test3@test.ru", "Test3");
+        when(userRepository.findAllByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(UserMapper.toUser(testUser)));
+
+        List<UserDto> result = userService.findAllUsers(new KeysetCursor(null, 2L), 1);
+
+        verify(userRepository, never()).findAllByOrderByIdAsc(any());
+        assertEquals(List.of(testUser), result);
+    }
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.CommentForItemView;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -52,14 +55,31 @@ class CommentRepositoryTest {
     }
 
     @Test
-    void findAllByItemInOrderByCreatedAsc() {
-        List<Comment> commentList = commentRepository
-                .findAllByItemInOrderByCreatedAsc(List.of(new Item(2L, "Test2", "Test2", true,
-                        new User(1L, "Test", "test@test.ru"), null)));
+    void findRecentComments() {
+        List<CommentForItemView> commentList = commentRepository.findRecentComments(List.of(1L, 2L), 1);
 
         assertAll(
-                () -> assertEquals(commentList.size(), 1),
-                () -> assertEquals(commentList.get(0).getId(), 3L)
+                () -> assertEquals(commentList.size(), 2),
+                () -> assertEquals(commentList.get(0).getId(), 2L),
+                () -> assertEquals(commentList.get(0).getTotal(), 2L),
+                () -> assertEquals(commentList.get(0).getAuthorName(), "Test2"),
+                () -> assertEquals(commentList.get(1).getId(), 3L),
+                () -> assertEquals(commentList.get(1).getTotal(), 1L)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void findItemCommentsByKeyset() {
+        List<CommentView> firstPage = commentRepository.findItemComments(1L, PageRequest.of(0, 1));
+        CommentView last = firstPage.get(0);
+        List<CommentView> secondPage = commentRepository.findItemCommentsBefore(1L, last.getCreated(),
+                last.getId(), PageRequest.of(0, 1));
+
+        assertAll(
+                () -> assertEquals(last.getId(), 2L),
+                () -> assertEquals(secondPage.size(), 1),
+                () -> assertEquals(secondPage.get(0).getId(), 1L),
+                () -> assertEquals(secondPage.get(0).getText(), "TestText")
+        );
+    }
+}
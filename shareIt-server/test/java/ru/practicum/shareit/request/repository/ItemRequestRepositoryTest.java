@@ -3,9 +3,9 @@ package ru.practicum.shareit.request.repository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -57,11 +57,29 @@ class ItemRequestRepositoryTest {
     @Test
     void findAllByRequestorIsNotOrderByIdAsc() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ItemRequest> itemRequestList = itemRequestRepository
+        Slice<ItemRequest> itemRequestList = itemRequestRepository
                 .findAllByRequestorIsNotOrderByIdAsc(new User(1L, "Test", "test@test.ru"), pageable);
 
         assertEquals(itemRequestList.getContent().size(), 1);
         assertEquals(itemRequestList.getContent().get(0).getId(), 2L);
+        assertFalse(itemRequestList.hasNext());
+    }
+
+    @Test
+    void findAllByRequestorIsNotAndIdGreaterThanOrderByIdAsc() {
+        User user = new User(3L, "Test3", "test3@test.ru");
+        Slice<ItemRequest> firstPage = itemRequestRepository
+                .findAllByRequestorIsNotOrderByIdAsc(user, PageRequest.of(0, 1));
+        Slice<ItemRequest> secondPage = itemRequestRepository.findAllByRequestorIsNotAndIdGreaterThanOrderByIdAsc(
+                user, firstPage.getContent().get(0).getId(), PageRequest.of(0, 1));
+
+        assertAll(
+                () -> assertEquals(firstPage.getContent().get(0).getId(), 1L),
+                () -> assertTrue(firstPage.hasNext()),
+                () -> assertEquals(secondPage.getContent().size(), 1),
+                () -> assertEquals(secondPage.getContent().get(0).getId(), 2L),
+                () -> assertFalse(secondPage.hasNext())
+        );
     }
 
     @Test